@@ -48,6 +48,7 @@ import org.openhab.binding.http.internal.converter.NumberItemConverter;
 import org.openhab.binding.http.internal.converter.PlayerItemConverter;
 import org.openhab.binding.http.internal.converter.RollershutterItemConverter;
 import org.openhab.binding.http.internal.http.Content;
+import org.openhab.binding.http.internal.http.HostRequestScheduler;
 import org.openhab.binding.http.internal.http.HttpAuthException;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
@@ -86,6 +87,7 @@ public class HttpThingHandler extends BaseThingHandler {
     private HttpClient httpClient;
     private RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
+    private final HostRequestScheduler hostRequestScheduler;
 
     private HttpThingConfig config = new HttpThingConfig();
     private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
@@ -94,13 +96,15 @@ public class HttpThingHandler extends BaseThingHandler {
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            HostRequestScheduler hostRequestScheduler) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
         this.valueTransformationProvider = valueTransformationProvider;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
+        this.hostRequestScheduler = hostRequestScheduler;
     }
 
     @Override
@@ -294,8 +298,8 @@ public class HttpThingHandler extends BaseThingHandler {
             channelUrls.put(channelUID, key);
             urlHandlers
                     .computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                                    channelConfig.escapedUrl, config, channelConfig.stateContent))
+                            k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, hostRequestScheduler,
+                                    stateUrl, channelConfig.escapedUrl, config, channelConfig.stateContent))
                     .addConsumer(itemValueConverter::process);
         }
 
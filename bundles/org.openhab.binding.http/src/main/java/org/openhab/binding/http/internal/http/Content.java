@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -25,13 +27,27 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class Content {
+    /**
+     * Content of a 304 (Not Modified) response, the content of the previous response is still valid
+     */
+    public static final Content NOT_MODIFIED = new Content(new byte[0], StandardCharsets.UTF_8.name(), null);
+
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +68,29 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    /**
+     * @return the value of the ETag header of the response or <code>null</code> if there was none
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the value of the Last-Modified header of the response or <code>null</code> if there was none
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Check if another content has the same data as this one
+     *
+     * @param other the content to compare with
+     * @return true if the raw content, encoding and media type are the same
+     */
+    public boolean hasSameData(Content other) {
+        return Arrays.equals(rawContent, other.rawContent) && encoding.equals(other.encoding)
+                && Objects.equals(mediaType, other.mediaType);
+    }
 }
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HostRequestScheduler} limits the number of concurrent refresh requests per target host for all things of
+ * the binding
+ *
+ * The limit of each host adapts to the host: it grows slowly while requests succeed with a latency close to the
+ * lowest one observed, shrinks a little when the latency rises and is halved when a request fails. Requests beyond
+ * the limit wait in a queue for the host. Identical requests that are submitted while one of them is in progress
+ * share its result instead of being sent again.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestScheduler {
+    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size per host
+    private static final double INITIAL_LIMIT = 4;
+    private static final double MIN_LIMIT = 1;
+    private static final double MAX_LIMIT = 32;
+    // latency above this multiple of the lowest latency is considered as a sign of an overloaded host
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final long STATISTICS_LOG_INTERVAL_NANOS = 300_000_000_000L;
+
+    private final Logger logger = LoggerFactory.getLogger(HostRequestScheduler.class);
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<@Nullable Content>> inProgress = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of a host
+     *
+     * @param host the host and port
+     * @param limit the current limit of concurrent requests
+     * @param active the number of requests in progress
+     * @param queued the number of requests waiting
+     * @param requests the number of requests sent
+     * @param failures the number of failed requests
+     * @param coalesced the number of requests that shared the result of an identical one
+     * @param averageLatencyMillis the moving average of the request latency in ms
+     */
+    public record HostStatistics(String host, int limit, int active, int queued, long requests, long failures,
+            long coalesced, long averageLatencyMillis) {
+    }
+
+    /**
+     * Submit a request
+     *
+     * The request should be ready to be sent, as the latency of the host is measured from the call of the supplier.
+     * Waiting for other limits, like the delay between the requests of a thing, has to happen before submitting.
+     *
+     * @param uri the request URI, used to determine the host
+     * @param key a key identifying identical requests, e.g. URI, method, content and headers
+     * @param request sends the request and returns a future that completes with its result, called once the host
+     *            accepts another request
+     * @return a future that completes with the result of the request
+     */
+    public CompletableFuture<@Nullable Content> submit(URI uri, String key,
+            Supplier<CompletableFuture<@Nullable Content>> request) {
+        Host host = hosts.computeIfAbsent(hostKey(uri), Host::new);
+
+        CompletableFuture<@Nullable Content> future = new CompletableFuture<>();
+        CompletableFuture<@Nullable Content> existing = inProgress.putIfAbsent(key, future);
+        if (existing != null) {
+            logger.trace("Request '{}' is already in progress, sharing its result", key);
+            synchronized (host) {
+                host.coalesced++;
+            }
+            return existing;
+        }
+        future.whenComplete((content, e) -> inProgress.remove(key, future));
+
+        Pending pending = new Pending(request, future);
+        synchronized (host) {
+            if (host.active < (int) host.limit) {
+                host.active++;
+            } else if (host.queue.size() < MAX_QUEUE_SIZE) {
+                host.queue.add(pending);
+                return future;
+            } else {
+                future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+                return future;
+            }
+        }
+        start(host, pending);
+        return future;
+    }
+
+    /**
+     * Get the statistics of all hosts requests were sent to
+     *
+     * @return the statistics
+     */
+    public Map<String, HostStatistics> getStatistics() {
+        return hosts.values().stream().collect(Collectors.toMap(host -> host.name, Host::getStatistics));
+    }
+
+    private void start(Host host, Pending pending) {
+        long startTime = System.nanoTime();
+        CompletableFuture<@Nullable Content> response;
+        try {
+            response = pending.request.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((content, e) -> {
+            boolean failed = e != null ? isHostFailure(unwrap(e)) : content == null;
+            finished(host, System.nanoTime() - startTime, failed);
+            if (e != null) {
+                pending.future.completeExceptionally(unwrap(e));
+            } else {
+                pending.future.complete(content);
+            }
+        });
+    }
+
+    private void finished(Host host, long latencyNanos, boolean failed) {
+        List<Pending> next = new ArrayList<>();
+        synchronized (host) {
+            host.update(latencyNanos, failed);
+            host.active--;
+            Pending pending;
+            while (host.active < (int) host.limit && (pending = host.queue.poll()) != null) {
+                host.active++;
+                next.add(pending);
+            }
+            if (logger.isDebugEnabled() && System.nanoTime() - host.lastStatisticsLog > STATISTICS_LOG_INTERVAL_NANOS) {
+                host.lastStatisticsLog = System.nanoTime();
+                logger.debug("Request statistics: {}", host.getStatistics());
+            }
+        }
+        next.forEach(pending -> start(host, pending));
+    }
+
+    /**
+     * Authentication failures and requests cancelled or rejected before they were sent say nothing about the load
+     * of the host
+     */
+    private static boolean isHostFailure(Throwable e) {
+        return !(e instanceof HttpAuthException || e instanceof CancellationException
+                || e instanceof RejectedExecutionException);
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        Throwable cause = e.getCause();
+        return e instanceof CompletionException && cause != null ? cause : e;
+    }
+
+    private static String hostKey(URI uri) {
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getHost() + ":" + port;
+    }
+
+    private record Pending(Supplier<CompletableFuture<@Nullable Content>> request,
+            CompletableFuture<@Nullable Content> future) {
+    }
+
+    private class Host {
+        private final String name;
+        private final Queue<Pending> queue = new ArrayDeque<>();
+        private double limit = INITIAL_LIMIT;
+        private int active;
+        private long requests;
+        private long failures;
+        private long coalesced;
+        private long minLatencyNanos = Long.MAX_VALUE;
+        private double averageLatencyNanos;
+        private long lastStatisticsLog = System.nanoTime();
+
+        private Host(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Adapt the limit to the result of a request
+         */
+        private void update(long latencyNanos, boolean failed) {
+            requests++;
+            averageLatencyNanos = requests == 1 ? latencyNanos : averageLatencyNanos * 0.9 + latencyNanos * 0.1;
+            if (failed) {
+                failures++;
+                limit = Math.max(MIN_LIMIT, limit / 2);
+                logger.trace("Request to {} failed, reduced limit to {}", name, (int) limit);
+                return;
+            }
+            // let the lowest latency drift up slowly, so it follows lasting changes of the host
+            minLatencyNanos = latencyNanos < minLatencyNanos ? latencyNanos
+                    : minLatencyNanos + (latencyNanos - minLatencyNanos) / 100;
+            if (latencyNanos > LATENCY_TOLERANCE * minLatencyNanos) {
+                limit = Math.max(MIN_LIMIT, limit * 0.9);
+            } else {
+                limit = Math.min(MAX_LIMIT, limit + 1 / limit);
+            }
+        }
+
+        private synchronized HostStatistics getStatistics() {
+            return new HostStatistics(name, (int) limit, active, queue.size(), requests, failures, coalesced,
+                    (long) averageLatencyNanos / 1_000_000);
+        }
+    }
+}
@@ -97,6 +97,9 @@ public class RateLimitedHttpClient {
         RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, future);
         if (delay == 0) {
             queueEntry.completeFuture(httpClient);
+        } else if (processJob == null) {
+            // already shut down, the request would never be processed
+            future.completeExceptionally(new CancellationException());
         } else {
             if (!requestQueue.offer(queueEntry)) {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
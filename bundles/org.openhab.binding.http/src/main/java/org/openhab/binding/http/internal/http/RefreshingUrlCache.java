@@ -21,16 +21,21 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -41,6 +46,13 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * GET requests are sent as conditional requests if the previous response had an ETag or Last-Modified header. If
+ * the content has not changed (the server answers with 304 Not Modified, or sends the same data again), the
+ * channels are only updated again if skipping unchanged content is disabled.
+ *
+ * Requests are sent through the {@link HostRequestScheduler} of the binding, which limits the concurrent requests per
+ * host and lets identical requests of different things share one response.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -50,6 +62,8 @@ public class RefreshingUrlCache {
     private final String url;
     private final boolean escapedUrl;
     private final RateLimitedHttpClient httpClient;
+    private final HostRequestScheduler hostRequestScheduler;
+    private final String requestKeyPrefix;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
@@ -57,13 +71,18 @@ public class RefreshingUrlCache {
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
+    private final boolean skipUnchanged;
+    private final AtomicLong processedRefreshes = new AtomicLong();
+    private final AtomicLong skippedRefreshes = new AtomicLong();
 
     private final ScheduledFuture<?> future;
     private @Nullable Content lastContent;
 
-    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
-            boolean escapedUrl, HttpThingConfig thingConfig, String httpContent) {
+    public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient,
+            HostRequestScheduler hostRequestScheduler, String url, boolean escapedUrl, HttpThingConfig thingConfig,
+            String httpContent) {
         this.httpClient = httpClient;
+        this.hostRequestScheduler = hostRequestScheduler;
         this.url = url;
         this.escapedUrl = escapedUrl;
         this.timeout = thingConfig.timeout;
@@ -71,7 +90,12 @@ public class RefreshingUrlCache {
         this.headers = thingConfig.headers;
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         fallbackEncoding = thingConfig.encoding;
+        // everything besides the URL and the conditional headers that has an influence on the response
+        requestKeyPrefix = String.join("|", httpMethod.asString(), httpContent, String.join(",", headers),
+                String.valueOf(fallbackEncoding), Integer.toString(bufferSize),
+                Boolean.toString(thingConfig.ignoreSSLErrors), thingConfig.username);
 
         future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
         logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
@@ -93,7 +117,13 @@ public class RefreshingUrlCache {
             URI uri = escapedUrl ? new URI(url) : Util.uriFromString(url);
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
-            httpClient.newRequest(uri, httpMethod, httpContent).thenAccept(request -> {
+            // only ask for changed content if the previous one is still available
+            Content previousContent = httpMethod == HttpMethod.GET ? lastContent : null;
+            String eTag = previousContent != null ? previousContent.getETag() : null;
+            String lastModified = previousContent != null ? previousContent.getLastModified() : null;
+
+            // the request waits for the configured delay first, the host scheduler only sees requests ready to send
+            httpClient.newRequest(uri, httpMethod, httpContent).thenCompose(request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
 
                 headers.forEach(header -> {
@@ -105,49 +135,62 @@ public class RefreshingUrlCache {
                     }
                 });
 
-                CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
-                response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
-                        if (isRetry) {
-                            logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
-                        } else {
-                            AuthenticationStore authStore = httpClient.getAuthenticationStore();
-                            Authentication.Result authResult = authStore.findAuthenticationResult(uri);
-                            if (authResult != null) {
-                                authStore.removeAuthenticationResult(authResult);
-                                logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
-                            } else {
-                                logger.warn("Could not find authentication result for '{}', failing here", uri);
-                            }
-                        }
-                    }
-                    return null;
-                }).thenAccept(this::processResult);
-
-                if (logger.isTraceEnabled()) {
-                    logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+                if (eTag != null) {
+                    request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                }
+                if (lastModified != null) {
+                    request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
                 }
 
-                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
+                // identical requests of other things share the response
+                String requestKey = requestKeyPrefix + "|" + uri + "|" + eTag + "|" + lastModified;
+                return hostRequestScheduler.submit(uri, requestKey, () -> send(uri, request));
             }).exceptionally(e -> {
-                if (e instanceof CancellationException) {
+                Throwable completionCause = e.getCause();
+                Throwable cause = e instanceof CompletionException && completionCause != null ? completionCause : e;
+                if (cause instanceof HttpAuthException) {
+                    if (isRetry) {
+                        logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+                    } else {
+                        AuthenticationStore authStore = httpClient.getAuthenticationStore();
+                        Authentication.Result authResult = authStore.findAuthenticationResult(uri);
+                        if (authResult != null) {
+                            authStore.removeAuthenticationResult(authResult);
+                            logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
+                            refresh(true);
+                        } else {
+                            logger.warn("Could not find authentication result for '{}', failing here", uri);
+                        }
+                    }
+                } else if (cause instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                } else if (cause instanceof RejectedExecutionException) {
+                    logger.warn("Request to URL {} was rejected: {}", uri, cause.getMessage());
                 } else {
-                    logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
+                    logger.warn("Request to URL {} failed: {}", uri, cause.getMessage());
                 }
                 return null;
-            });
+            }).thenAccept(this::processResult);
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
             logger.warn("Creating request for '{}' failed: {}", url, e.getMessage());
         }
     }
 
+    private CompletableFuture<@Nullable Content> send(URI uri, Request request) {
+        CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+        if (logger.isTraceEnabled()) {
+            logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
+        }
+        request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
+        return response;
+    }
+
     public void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
         future.cancel(false);
-        logger.trace("Stopped refresh task for URL '{}'", url);
+        logger.debug("Stopped refresh task for URL '{}' ({} refreshes processed, {} skipped as unchanged)", url,
+                processedRefreshes.get(), skippedRefreshes.get());
     }
 
     public void addConsumer(Consumer<Content> consumer) {
@@ -163,8 +206,37 @@ public class RefreshingUrlCache {
         }
     }
 
-    private void processResult(@Nullable Content content) {
-        if (content != null) {
+    /**
+     * @return the number of refreshes that were passed to the channels
+     */
+    public long getProcessedRefreshes() {
+        return processedRefreshes.get();
+    }
+
+    /**
+     * @return the number of refreshes that were skipped because the content had not changed
+     */
+    public long getSkippedRefreshes() {
+        return skippedRefreshes.get();
+    }
+
+    private void processResult(@Nullable Content result) {
+        Content previousContent = lastContent;
+        Content content = result;
+        boolean unchanged;
+        if (result == Content.NOT_MODIFIED) {
+            // the previous content is still valid
+            content = previousContent;
+            unchanged = true;
+        } else {
+            unchanged = result != null && previousContent != null && result.hasSameData(previousContent);
+        }
+
+        if (content != null && unchanged && skipUnchanged) {
+            logger.trace("Content of URL {} has not changed, skipping update of channels", url);
+            skippedRefreshes.incrementAndGet();
+        } else if (content != null) {
+            processedRefreshes.incrementAndGet();
             for (Consumer<Content> consumer : consumers) {
                 try {
                     consumer.accept(content);
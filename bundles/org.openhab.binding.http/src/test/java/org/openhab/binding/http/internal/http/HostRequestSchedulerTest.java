@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HostRequestScheduler}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestSchedulerTest {
+
+    private static final URI URI_A = URI.create("http://example.com/a");
+
+    private final HostRequestScheduler scheduler = new HostRequestScheduler();
+
+    @Test
+    public void identicalRequestsShareResult() {
+        AtomicInteger sent = new AtomicInteger();
+        CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+
+        CompletableFuture<@Nullable Content> first = scheduler.submit(URI_A, "a", () -> {
+            sent.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<@Nullable Content> second = scheduler.submit(URI_A, "a", () -> {
+            sent.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        Content content = new Content(new byte[] { 1 }, "UTF-8", null);
+        response.complete(content);
+
+        assertEquals(1, sent.get());
+        assertSame(content, first.join());
+        assertSame(content, second.join());
+        HostRequestScheduler.HostStatistics statistics = scheduler.getStatistics().get("example.com:80");
+        assertNotNull(statistics);
+        assertEquals(1, statistics.coalesced());
+    }
+
+    @Test
+    public void requestsBeyondLimitAreQueued() {
+        List<CompletableFuture<@Nullable Content>> responses = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            scheduler.submit(URI.create("http://example.com/" + i), "key" + i, () -> {
+                CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+                responses.add(response);
+                return response;
+            });
+        }
+
+        HostRequestScheduler.HostStatistics statistics = scheduler.getStatistics().get("example.com:80");
+        assertNotNull(statistics);
+        assertEquals(4, statistics.active());
+        assertEquals(2, statistics.queued());
+        assertEquals(4, responses.size());
+
+        // a failure halves the limit, so the queued requests have to wait
+        responses.get(0).complete(null);
+        statistics = scheduler.getStatistics().get("example.com:80");
+        assertNotNull(statistics);
+        assertEquals(2, statistics.limit());
+        assertEquals(3, statistics.active());
+        assertEquals(2, statistics.queued());
+        assertEquals(1, statistics.failures());
+
+        // queued requests are only sent once the active ones drop below the limit
+        Content content = new Content(new byte[] { 1 }, "UTF-8", null);
+        responses.get(1).complete(content);
+        assertEquals(4, responses.size());
+        responses.get(2).complete(content);
+        assertEquals(5, responses.size());
+        statistics = scheduler.getStatistics().get("example.com:80");
+        assertNotNull(statistics);
+        assertEquals(1, statistics.queued());
+    }
+}
@@ -273,6 +273,40 @@ public class HttpResponseListenerTest {
         assertNull(content.getMediaType());
     }
 
+    /**
+     * When the remote side response with a HTTP/304, the future completes normally with the
+     * not modified marker.
+     */
+    @Test
+    public void notModified() {
+        when(response.getStatus()).thenReturn(HttpStatus.NOT_MODIFIED_304);
+
+        CompletableFuture<@Nullable Content> future = run();
+
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        assertSame(Content.NOT_MODIFIED, future.join());
+    }
+
+    /**
+     * When the remote side sends validators, they are available from the Content for the next
+     * request.
+     */
+    @Test
+    public void okWithValidators() {
+        when(response.getStatus()).thenReturn(HttpStatus.OK_200);
+        response.getHeaders().put(HttpHeader.ETAG, "\"abc\"");
+        response.getHeaders().put(HttpHeader.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        CompletableFuture<@Nullable Content> future = run("foobar".getBytes());
+
+        Content content = future.join();
+        assertNotNull(content);
+        assertEquals("\"abc\"", content.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", content.getLastModified());
+        assertTrue(content.hasSameData(new Content("foobar".getBytes(), "UTF-8", null)));
+    }
+
     /**
      * When the remote side response with a HTTP/401, the future completes exceptionally with a
      * HttpAuthException.
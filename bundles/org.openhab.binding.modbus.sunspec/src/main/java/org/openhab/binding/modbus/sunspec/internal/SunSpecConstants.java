@@ -147,4 +147,6 @@ public class SunSpecConstants {
     public static final int SUNSPEC_ID_SIZE = 2;
     // Size of any block header in words
     public static final int MODEL_HEADER_SIZE = 2;
+    // Name of the storage of the model maps found by the discovery
+    public static final String MODEL_MAP_STORAGE = "modbus.sunspec.modelMaps";
 }
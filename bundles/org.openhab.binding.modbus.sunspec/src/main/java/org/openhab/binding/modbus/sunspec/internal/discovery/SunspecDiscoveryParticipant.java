@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.modbus.sunspec.internal.discovery;
 
-import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.SUPPORTED_THING_TYPES_UIDS;
+import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -22,8 +22,13 @@ import org.openhab.binding.modbus.discovery.ModbusDiscoveryListener;
 import org.openhab.binding.modbus.discovery.ModbusDiscoveryParticipant;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.binding.modbus.sunspec.internal.dto.ModelMap;
+import org.openhab.core.storage.Storage;
+import org.openhab.core.storage.StorageService;
 import org.openhab.core.thing.ThingTypeUID;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +44,16 @@ public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
 
     private final Logger logger = LoggerFactory.getLogger(SunspecDiscoveryParticipant.class);
 
+    /**
+     * Model maps found by previous discoveries, per endpoint and unit id
+     */
+    private final Storage<ModelMap> modelMaps;
+
+    @Activate
+    public SunspecDiscoveryParticipant(@Reference StorageService storageService) {
+        modelMaps = storageService.getStorage(MODEL_MAP_STORAGE, ModelMap.class.getClassLoader());
+    }
+
     @Override
     public Set<ThingTypeUID> getSupportedThingTypeUIDs() {
         return new HashSet<ThingTypeUID>(SUPPORTED_THING_TYPES_UIDS.values());
@@ -48,7 +63,7 @@ public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
     public void startDiscovery(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener) {
         logger.trace("Starting sunspec discovery");
         try {
-            new SunspecDiscoveryProcess(handler, listener).detectModel();
+            new SunspecDiscoveryProcess(handler, listener, modelMaps).startDiscovery();
         } catch (EndpointNotInitializedException ex) {
             logger.debug("Could not start discovery process");
             listener.discoveryFinished();
@@ -14,6 +14,7 @@ package org.openhab.binding.modbus.sunspec.internal.discovery;
 
 import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -27,18 +28,21 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.sunspec.internal.dto.CommonModelBlock;
 import org.openhab.binding.modbus.sunspec.internal.dto.ModelBlock;
+import org.openhab.binding.modbus.sunspec.internal.dto.ModelMap;
 import org.openhab.binding.modbus.sunspec.internal.parser.CommonModelParser;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
 import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
 import org.openhab.core.io.transport.modbus.exception.ModbusSlaveErrorResponseException;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.storage.Storage;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.ThingUID;
 import org.slf4j.Logger;
@@ -50,6 +54,10 @@ import org.slf4j.LoggerFactory;
  * It scans trough the defined model items and notifies the
  * discovery service about the discovered devices
  *
+ * The model blocks found are stored per endpoint and unit id. When they are
+ * known from a previous discovery, only the SunSpec identifier and the common
+ * block are read to check that the device is still the same one.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  */
 @NonNullByDefault
@@ -113,14 +121,30 @@ public class SunspecDiscoveryProcess {
      */
     private ModbusCommunicationInterface comms;
 
+    /**
+     * Storage of the model maps found by previous discoveries
+     */
+    private final Storage<ModelMap> modelMaps;
+
+    /**
+     * Key of this device in the model map storage
+     */
+    private final String modelMapKey;
+
+    /**
+     * The model map being detected, created once the SunSpec identifier has been found
+     */
+    private @Nullable ModelMap detectedModelMap = null;
+
     /**
      * New instances of this class should get a reference to the handler
      *
      * @throws EndpointNotInitializedException
      */
-    public SunspecDiscoveryProcess(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener)
-            throws EndpointNotInitializedException {
+    public SunspecDiscoveryProcess(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener,
+            Storage<ModelMap> modelMaps) throws EndpointNotInitializedException {
         this.handler = handler;
+        this.modelMaps = modelMaps;
 
         ModbusCommunicationInterface localComms = handler.getCommunicationInterface();
         if (localComms != null) {
@@ -129,6 +153,7 @@ public class SunspecDiscoveryProcess {
             throw new EndpointNotInitializedException();
         }
         slaveId = handler.getSlaveId();
+        modelMapKey = handler.getUID().getAsString() + ":" + slaveId;
         this.listener = listener;
         commonBlockParser = new CommonModelParser();
         possibleAddresses = new ConcurrentLinkedQueue<>();
@@ -139,6 +164,66 @@ public class SunspecDiscoveryProcess {
         possibleAddresses.add(0);
     }
 
+    /**
+     * Start the discovery
+     *
+     * Uses the known model map of the device if it has not changed, otherwise starts model detection
+     */
+    public void startDiscovery() {
+        ModelMap knownModelMap = modelMaps.get(modelMapKey);
+        if (knownModelMap == null || SUNSPEC_ID_SIZE + MODEL_HEADER_SIZE
+                + knownModelMap.commonBlock.length > ModbusConstants.MAX_REGISTERS_READ_COUNT) {
+            detectModel();
+            return;
+        }
+        logger.trace("Checking known SunSpec device at address {}", knownModelMap.baseAddress);
+
+        // Read the SunSpec identifier and the common block at once
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, knownModelMap.baseAddress, // Start address
+                SUNSPEC_ID_SIZE + MODEL_HEADER_SIZE + knownModelMap.commonBlock.length, // number or words to return
+                maxTries);
+
+        comms.submitOneTimePoll(request,
+                result -> result.getRegisters().ifPresent(registers -> knownDeviceReceived(knownModelMap, registers)),
+                failure -> {
+                    logger.debug("Could not check known SunSpec device at address {}: {}", knownModelMap.baseAddress,
+                            failure.getCause().getMessage());
+                    detectModel();
+                });
+    }
+
+    /**
+     * We received the SunSpec identifier and the common block of a known device
+     */
+    private void knownDeviceReceived(ModelMap knownModelMap, ModbusRegisterArray registers) {
+        Optional<DecimalType> id = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT32);
+        if (id.isPresent() && id.get().longValue() == SUNSPEC_ID && registers.size() > SUNSPEC_ID_SIZE) {
+            byte[] bytes = registers.getBytes();
+            CommonModelBlock commonBlock = commonBlockParser
+                    .parse(new ModbusRegisterArray(Arrays.copyOfRange(bytes, SUNSPEC_ID_SIZE * 2, bytes.length)));
+            if (isSameDevice(knownModelMap.commonBlock, commonBlock)) {
+                logger.debug("SunSpec device at address {} has not changed, using the {} known model blocks",
+                        knownModelMap.baseAddress, knownModelMap.models.size());
+                for (ModelMap.Entry entry : knownModelMap.models) {
+                    thingDiscovered(entry.block, entry.commonBlock);
+                }
+                listener.discoveryFinished();
+                return;
+            }
+        }
+        logger.debug("SunSpec device at address {} has changed, detecting its model blocks again",
+                knownModelMap.baseAddress);
+        detectModel();
+    }
+
+    private boolean isSameDevice(CommonModelBlock known, CommonModelBlock current) {
+        return known.sunSpecDID == current.sunSpecDID && known.length == current.length
+                && known.deviceAddress == current.deviceAddress && known.manufacturer.equals(current.manufacturer)
+                && known.model.equals(current.model) && known.version.equals(current.version)
+                && known.serialNumber.equals(current.serialNumber);
+    }
+
     /**
      * Start model detection
      *
@@ -150,6 +235,7 @@ public class SunspecDiscoveryProcess {
             return;
         }
         // Try the next address from the possibles
+        detectedModelMap = null;
         baseAddress = possibleAddresses.poll();
         logger.trace("Beginning scan for SunSpec device at address {}", baseAddress);
 
@@ -178,6 +264,10 @@ public class SunspecDiscoveryProcess {
         }
 
         logger.trace("Header looks correct");
+        ModelMap modelMap = new ModelMap();
+        modelMap.baseAddress = baseAddress;
+        detectedModelMap = modelMap;
+        lastCommonBlock = null;
         baseAddress += SUNSPEC_ID_SIZE;
 
         lookForModelBlock();
@@ -256,7 +346,12 @@ public class SunspecDiscoveryProcess {
      */
     private void parseCommonBlock(ModbusRegisterArray registers) {
         logger.trace("Got common block data: {}", registers);
-        lastCommonBlock = commonBlockParser.parse(registers);
+        CommonModelBlock commonBlock = commonBlockParser.parse(registers);
+        ModelMap modelMap = detectedModelMap;
+        if (modelMap != null && lastCommonBlock == null) {
+            modelMap.commonBlock = commonBlock;
+        }
+        lastCommonBlock = commonBlock;
         lookForModelBlock(); // Continue parsing
     }
 
@@ -279,6 +374,23 @@ public class SunspecDiscoveryProcess {
             return;
         }
 
+        ModelMap modelMap = detectedModelMap;
+        if (modelMap != null) {
+            ModelMap.Entry entry = new ModelMap.Entry();
+            entry.block = block;
+            entry.commonBlock = commonBlock;
+            modelMap.models.add(entry);
+        }
+        thingDiscovered(block, commonBlock);
+    }
+
+    /**
+     * Notify the listener about a discovered model block
+     *
+     * @param block the block we've found
+     * @param commonBlock the common block describing the device
+     */
+    private void thingDiscovered(ModelBlock block, CommonModelBlock commonBlock) {
         ThingTypeUID thingTypeUID = SUPPORTED_THING_TYPES_UIDS.get(block.moduleID);
         if (thingTypeUID == null) {
             logger.warn("Found model block but no corresponding thing type UID present: {}", block.moduleID);
@@ -307,6 +419,12 @@ public class SunspecDiscoveryProcess {
      * Now we have to report back to the handler the common block and the block we were looking for
      */
     private void parsingFinished() {
+        ModelMap modelMap = detectedModelMap;
+        if (modelMap != null && lastCommonBlock != null) {
+            modelMaps.put(modelMapKey, modelMap);
+        } else {
+            modelMaps.remove(modelMapKey);
+        }
         listener.discoveryFinished();
     }
 
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The model blocks found on a device by the discovery. This is stored per endpoint and unit id, so a later discovery
+ * only has to check that the device is still the same instead of walking through all of its model blocks again.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+public class ModelMap {
+
+    /**
+     * Address of the SunSpec identifier, the common block of the device follows it
+     */
+    public int baseAddress;
+
+    /**
+     * The first common block on the device, used to check that the device has not changed
+     */
+    public CommonModelBlock commonBlock = new CommonModelBlock();
+
+    /**
+     * The supported model blocks found
+     */
+    public List<Entry> models = new ArrayList<>();
+
+    /**
+     * A model block with the common block describing the device it belongs to
+     */
+    public static class Entry {
+        public ModelBlock block = new ModelBlock();
+        public CommonModelBlock commonBlock = new CommonModelBlock();
+    }
+}
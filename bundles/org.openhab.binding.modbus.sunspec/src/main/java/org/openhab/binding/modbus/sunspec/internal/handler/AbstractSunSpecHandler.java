@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Unit;
 
@@ -90,6 +91,11 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      */
     private volatile int slaveId;
 
+    /**
+     * Channel UIDs by group and channel id, so they are not created again on every poll
+     */
+    private final Map<String, ChannelUID> channelUIDs = new ConcurrentHashMap<>();
+
     /**
      * Instances of this handler should get a reference to the modbus manager
      *
@@ -420,7 +426,8 @@ public abstract class AbstractSunSpecHandler extends BaseThingHandler {
      * @return the globally unique channel uid
      */
     ChannelUID channelUID(String group, String id) {
-        return new ChannelUID(getThing().getUID(), group, id);
+        return channelUIDs.computeIfAbsent(group + ChannelUID.CHANNEL_GROUP_SEPARATOR + id,
+                key -> new ChannelUID(getThing().getUID(), group, id));
     }
 
     /**
@@ -0,0 +1,306 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the regular polls of several pollers of one endpoint into fewer, larger reads.
+ *
+ * Polls with the same unit id, function code and refresh interval form a group. The requests of a group are sorted
+ * by start address and greedily merged into blocks, as long as the gap between two requests is at most the configured
+ * tolerance and the block stays within the protocol limit of {@value ModbusConstants#MAX_REGISTERS_READ_COUNT}
+ * registers or {@value ModbusConstants#MAX_BITS_READ_COUNT} bits. For intervals sorted by start this gives the
+ * minimal number of blocks. Each block is polled once and the slice of each request is passed to its callbacks, as if
+ * the request had been polled on its own.
+ *
+ * Groups are planned again shortly after a poll is registered or unregistered, so pollers initializing together do
+ * not cause a new plan each.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    private static final long REPLAN_DELAY_MILLIS = 1000;
+
+    /**
+     * A regular poll registered with the coalescer.
+     */
+    public static class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final long pollPeriodMillis;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+                ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private GroupKey groupKey() {
+            return new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis);
+        }
+
+        private int end() {
+            return request.getReference() + request.getDataLength();
+        }
+    }
+
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis) {
+    }
+
+    /**
+     * A merged read that is polled on behalf of its members.
+     */
+    private class Block implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<Registration> members;
+        private @Nullable PollTask pollTask;
+
+        Block(ModbusReadRequestBlueprint request, List<Registration> members) {
+            this.request = request;
+            this.members = new CopyOnWriteArrayList<>(members);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            savedRoundTrips.addAndGet(members.size() - 1);
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            for (Registration member : members) {
+                int offset = member.request.getReference() - request.getReference();
+                int length = member.request.getDataLength();
+                AsyncModbusReadResult memberResult;
+                if (registers.isPresent()) {
+                    byte[] bytes = registers.get().getBytes();
+                    memberResult = new AsyncModbusReadResult(member.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, offset * 2, (offset + length) * 2)));
+                } else if (bits.isPresent()) {
+                    BitArray blockBits = bits.get();
+                    BitArray memberBits = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        memberBits.setBit(i, blockBits.getBit(offset + i));
+                    }
+                    memberResult = new AsyncModbusReadResult(member.request, memberBits);
+                } else {
+                    logger.debug("Result for coalesced request {} has no data, ignoring", request);
+                    return;
+                }
+                member.resultCallback.handle(memberResult);
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration member : members) {
+                member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int gapTolerance;
+    private final AtomicLong savedRoundTrips = new AtomicLong();
+
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, List<Block>> blocks = new HashMap<>();
+    private final Map<GroupKey, ScheduledFuture<?>> pendingPlans = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * @param comms the communication interface of the endpoint
+     * @param scheduler the scheduler to plan the groups on
+     * @param gapTolerance the maximum number of unrequested registers or bits between two requests that are merged
+     */
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler,
+            int gapTolerance) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.gapTolerance = Math.max(0, gapTolerance);
+    }
+
+    /**
+     * Registers a regular poll, the counterpart of
+     * {@link ModbusCommunicationInterface#registerRegularPoll(ModbusReadRequestBlueprint, long, long, ModbusReadCallback, ModbusFailureCallback)}.
+     *
+     * @param request the request to poll
+     * @param pollPeriodMillis the poll interval
+     * @param resultCallback the callback for the results of the request
+     * @param failureCallback the callback for failures of the request
+     * @return the registration, to be passed to {@link #unregisterRegularPoll(Registration)}
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, pollPeriodMillis, resultCallback, failureCallback);
+        GroupKey key = registration.groupKey();
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        schedulePlan(key);
+        return registration;
+    }
+
+    /**
+     * Unregisters a regular poll. Its callbacks are not called anymore after this method returns.
+     *
+     * @param registration the registration returned by
+     *            {@link #registerRegularPoll(ModbusReadRequestBlueprint, long, ModbusReadCallback, ModbusFailureCallback)}
+     */
+    public synchronized void unregisterRegularPoll(Registration registration) {
+        GroupKey key = registration.groupKey();
+        List<Registration> group = registrations.get(key);
+        if (group == null || !group.remove(registration)) {
+            return;
+        }
+        // stop delivering to the removed poll right away, the blocks are merged again later
+        for (Block block : blocks.getOrDefault(key, List.of())) {
+            block.members.remove(registration);
+        }
+        schedulePlan(key);
+    }
+
+    /**
+     * Stops all merged polls.
+     */
+    public synchronized void close() {
+        closed = true;
+        pendingPlans.values().forEach(future -> future.cancel(false));
+        pendingPlans.clear();
+        for (List<Block> groupBlocks : blocks.values()) {
+            groupBlocks.forEach(this::stopBlock);
+        }
+        blocks.clear();
+        registrations.clear();
+    }
+
+    /**
+     * @return the number of round trips saved by merging polls since this coalescer was created
+     */
+    public long getSavedRoundTrips() {
+        return savedRoundTrips.get();
+    }
+
+    private void schedulePlan(GroupKey key) {
+        if (!closed && !pendingPlans.containsKey(key)) {
+            pendingPlans.put(key, scheduler.schedule(() -> plan(key), REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private synchronized void plan(GroupKey key) {
+        pendingPlans.remove(key);
+        if (closed) {
+            return;
+        }
+        List<Block> oldBlocks = blocks.remove(key);
+        if (oldBlocks != null) {
+            oldBlocks.forEach(this::stopBlock);
+        }
+
+        List<Registration> group = registrations.getOrDefault(key, List.of());
+        if (group.isEmpty()) {
+            registrations.remove(key);
+            return;
+        }
+
+        List<Block> newBlocks = merge(key, group);
+        for (Block block : newBlocks) {
+            block.pollTask = comms.registerRegularPoll(block.request, key.pollPeriodMillis(), 0, block, block);
+        }
+        blocks.put(key, newBlocks);
+        logger.debug(
+                "Coalesced {} polls of unit {} with function code {} every {} ms into {} reads, saving {} round trips per interval",
+                group.size(), key.unitId(), key.functionCode(), key.pollPeriodMillis(), newBlocks.size(),
+                group.size() - newBlocks.size());
+    }
+
+    private List<Block> merge(GroupKey key, List<Registration> group) {
+        int maxLength = switch (key.functionCode()) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        };
+        List<Registration> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparingInt((Registration r) -> r.request.getReference()));
+
+        List<Block> merged = new ArrayList<>();
+        List<Registration> members = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        int maxTries = 0;
+        for (Registration registration : sorted) {
+            int requestStart = registration.request.getReference();
+            int requestEnd = registration.end();
+            if (!members.isEmpty() && requestStart - end <= gapTolerance
+                    && Math.max(end, requestEnd) - start <= maxLength) {
+                end = Math.max(end, requestEnd);
+                maxTries = Math.max(maxTries, registration.request.getMaxTries());
+            } else {
+                if (!members.isEmpty()) {
+                    merged.add(createBlock(key, start, end, maxTries, members));
+                    members = new ArrayList<>();
+                }
+                start = requestStart;
+                end = requestEnd;
+                maxTries = registration.request.getMaxTries();
+            }
+            members.add(registration);
+        }
+        merged.add(createBlock(key, start, end, maxTries, members));
+        return merged;
+    }
+
+    private Block createBlock(GroupKey key, int start, int end, int maxTries, List<Registration> members) {
+        return new Block(new ModbusReadRequestBlueprint(key.unitId(), key.functionCode(), start, end - start,
+                maxTries), members);
+    }
+
+    private void stopBlock(Block block) {
+        PollTask pollTask = block.pollTask;
+        if (pollTask != null) {
+            comms.unregisterRegularPoll(pollTask);
+            block.pollTask = null;
+        }
+        block.members.clear();
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Decoder for the value of a data thing in the registers of a poll, prepared once when the thing is initialized.
+ *
+ * Besides decoding the value, the decoder packs the raw bytes of the value into a <code>long</code>, reading them
+ * directly from the register buffer. Comparing these raw values is enough to detect that the value has not changed
+ * since the previous poll, so decoding and the creation of new states can be skipped in that case. With types of less
+ * than 16 bits the whole register holding the value is compared.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterValueDecoder {
+
+    private final ValueType valueType;
+    private final int extractIndex;
+    private final int firstByte;
+    private final int byteCount;
+
+    /**
+     * Creates the decoder.
+     *
+     * @param valueType the value type
+     * @param registerOffset the offset of the register holding the value from the start of the poll
+     * @param subIndex the index of the bit or byte within the register, used with types of less than 16 bits
+     */
+    public RegisterValueDecoder(ValueType valueType, int registerOffset, int subIndex) {
+        this.valueType = valueType;
+        int bits = valueType.getBits();
+        if (bits >= 16) {
+            // with >=16 bit types, the extract index is the index of the first register
+            extractIndex = registerOffset;
+            byteCount = bits / 8;
+        } else {
+            // with <16 bit types, it is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+            // respectively.
+            extractIndex = registerOffset * (16 / bits) + subIndex;
+            byteCount = 2;
+        }
+        firstByte = registerOffset * 2;
+    }
+
+    /**
+     * @return the index of the value as used by {@link ModbusBitUtilities#extractStateFromRegisters}
+     */
+    public int getExtractIndex() {
+        return extractIndex;
+    }
+
+    /**
+     * @param registers the registers of a poll
+     * @return whether the registers contain the value
+     */
+    public boolean isContainedIn(ModbusRegisterArray registers) {
+        return firstByte >= 0 && firstByte + byteCount <= registers.size() * 2;
+    }
+
+    /**
+     * Returns the raw bytes of the value, packed into a <code>long</code>. The registers must contain the value.
+     *
+     * @param registers the registers of a poll
+     * @return the raw value
+     */
+    public long getRawValue(ModbusRegisterArray registers) {
+        byte[] bytes = registers.getBytes();
+        long raw = 0;
+        for (int i = firstByte; i < firstByte + byteCount; i++) {
+            raw = (raw << 8) | (bytes[i] & 0xff);
+        }
+        return raw;
+    }
+
+    /**
+     * Decodes the value.
+     *
+     * @param registers the registers of a poll
+     * @return the numeric state, or {@link UnDefType#UNDEF} with floating point NaN or infinity
+     * @throws IllegalArgumentException if the registers do not contain the value
+     */
+    public State decode(ModbusRegisterArray registers) {
+        return ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, valueType)
+                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+    }
+}
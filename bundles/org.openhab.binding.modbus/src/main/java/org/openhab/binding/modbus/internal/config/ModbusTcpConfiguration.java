@@ -33,6 +33,8 @@ public class ModbusTcpConfiguration {
     private int afterConnectionDelayMillis;
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
+    private boolean coalescePolls;
+    private int coalescingGap;
     private boolean rtuEncoded;
 
     public boolean getRtuEncoded() {
@@ -118,4 +120,20 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalescePolls() {
+        return coalescePolls;
+    }
+
+    public void setCoalescePolls(boolean coalescePolls) {
+        this.coalescePolls = coalescePolls;
+    }
+
+    public int getCoalescingGap() {
+        return coalescingGap;
+    }
+
+    public void setCoalescingGap(int coalescingGap) {
+        this.coalescingGap = coalescingGap;
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -46,8 +47,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
+    /** gap tolerance for merging the polls of the pollers of this endpoint, negative if they are not merged */
+    protected volatile int pollCoalescingGap = -1;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +80,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    if (pollCoalescingGap >= 0) {
+                        pollCoalescer = new ModbusPollCoalescer(comms, scheduler, pollCoalescingGap);
+                    }
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +100,13 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusPollCoalescer localPollCoalescer = pollCoalescer;
+        if (localPollCoalescer != null) {
+            logger.debug("Coalescing polls of {} saved {} round trips", getThing().getUID(),
+                    localPollCoalescer.getSavedRoundTrips());
+            localPollCoalescer.close();
+            pollCoalescer = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +124,15 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Gets the {@link ModbusPollCoalescer} that merges the regular polls of the pollers of this endpoint
+     *
+     * @return the coalescer or <code>null</code> if polls are not merged or the initialization is not complete
+     */
+    public @Nullable ModbusPollCoalescer getPollCoalescer() {
+        return pollCoalescer;
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -35,6 +35,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.RegisterValueDecoder;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -78,7 +79,6 @@ import org.openhab.core.thing.binding.ThingHandlerCallback;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
-import org.openhab.core.types.UnDefType;
 import org.openhab.core.util.HexUtils;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
@@ -124,6 +124,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     }
     // data channels + 4 for read/write last error/success
     private static final int NUMER_OF_CHANNELS_HINT = CHANNEL_ID_TO_ACCEPTED_TYPES.size() + 4;
+    private static final DecimalType DECIMAL_ONE = new DecimalType(BigDecimal.ONE);
 
     //
     // If you change the below default/initial values, please update the corresponding values in dispose()
@@ -132,6 +133,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ValueType readValueType;
     private volatile @Nullable ValueType writeValueType;
     private volatile @Nullable CascadedValueTransformationImpl readTransformation;
+    private volatile @Nullable RegisterValueDecoder readDecoder;
     private volatile @Nullable CascadedValueTransformationImpl writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
@@ -149,8 +151,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
-    private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private final Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    private final Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // raw value of the previous poll, only valid when lastNumericState is not null
+    private volatile long lastRawValue;
+    private volatile @Nullable State lastNumericState;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -466,6 +471,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         readValueType = null;
         writeValueType = null;
         readTransformation = null;
+        readDecoder = null;
         writeTransformation = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
@@ -484,8 +490,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
-        channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-        channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        channelLastUpdated.clear();
+        channelLastState.clear();
+        lastRawValue = 0;
+        lastNumericState = null;
     }
 
     @Override
@@ -578,6 +586,14 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new CascadedValueTransformationImpl(config.getReadTransform());
         validateReadIndex();
+
+        ValueType readValueType = this.readValueType;
+        if (isReadEnabled && readRequest != null && readValueType != null && readIndex.isPresent()) {
+            readDecoder = new RegisterValueDecoder(readValueType, readIndex.get() - pollStart,
+                    readSubIndex.orElse(0));
+        } else {
+            readDecoder = null;
+        }
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -815,38 +831,39 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
+        RegisterValueDecoder readDecoder = this.readDecoder;
+        if (readValueType == null || readDecoder == null) {
             return;
         }
-        State numericState;
 
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
+        // Compare the raw bytes with the previous poll first, decoding is only needed when they have changed
+        State numericState;
+        boolean unchanged;
+        State lastNumericState = this.lastNumericState;
+        if (readDecoder.isContainedIn(registers)) {
+            long rawValue = readDecoder.getRawValue(registers);
+            unchanged = lastNumericState != null && rawValue == lastRawValue;
+            if (unchanged && lastNumericState != null) {
+                numericState = lastNumericState;
+            } else {
+                numericState = readDecoder.decode(registers);
+                this.lastRawValue = rawValue;
+                this.lastNumericState = numericState;
+            }
         } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
+            // let the extraction report the invalid index, as before
+            unchanged = false;
+            this.lastNumericState = null;
+            numericState = readDecoder.decode(registers);
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
-        logger.debug(
-                "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, unchanged);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
+                    thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0),
+                    readDecoder.getExtractIndex(), numericState, boolValue, registers, request);
+        }
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -856,8 +873,12 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
-        DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        long rawValue = boolValue ? 1 : 0;
+        boolean unchanged = lastNumericState != null && rawValue == lastRawValue;
+        DecimalType numericState = boolValue ? DECIMAL_ONE : DecimalType.ZERO;
+        lastRawValue = rawValue;
+        lastNumericState = numericState;
+        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue, unchanged);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -954,15 +975,17 @@ public class ModbusDataThingHandler extends BaseThingHandler {
      *
      * @param numericState numeric state corresponding to polled data (or UNDEF with floating point NaN or infinity)
      * @param boolValue boolean value corresponding to polled data
+     * @param unchanged whether the polled data is the same as in the previous poll
      * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue) {
+    private Map<ChannelUID, State> processUpdatedValue(State numericState, boolean boolValue, boolean unchanged) {
         ValueTransformation localReadTransformation = readTransformation;
         if (localReadTransformation == null) {
             // We should always have transformation available if thing is initalized properly
             logger.trace("No transformation available, aborting processUpdatedValue");
             return Collections.emptyMap();
         }
+        boolean identityTransform = localReadTransformation.isIdentityTransform();
         Map<ChannelUID, State> states = new HashMap<>();
         CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().forEach(channelId -> {
             ChannelUID channelUID = getChannelUID(channelId);
@@ -984,10 +1007,18 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
 
             State transformedState;
-            if (localReadTransformation.isIdentityTransform()) {
+            State lastState = channelLastState.get(channelUID);
+            if (identityTransform && unchanged && lastState != null) {
+                // Same input and no transformation, the state is the same as in the previous poll
+                transformedState = lastState;
+            } else if (identityTransform) {
                 if (boolLikeState != null) {
                     // A bit of smartness for ON/OFF and OPEN/CLOSED with boolean like items
                     transformedState = boolLikeState;
+                } else if (numericState instanceof DecimalType
+                        && DecimalType.class.equals(acceptedDataTypes.get(0))) {
+                    // No need for the string round trip when the number is accepted as such
+                    transformedState = numericState;
                 } else {
                     // Numeric states always go through transformation. This allows value of 17.5 to be
                     // converted to
@@ -1001,11 +1032,12 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             }
 
             if (transformedState != null) {
-                logger.trace(
-                        "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
-                        channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
-                        readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                if (logger.isTraceEnabled()) {
+                    logger.trace(
+                            "Channel {} will be updated to '{}' (type {}). Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
+                            channelId, transformedState, transformedState.getClass().getSimpleName(), numericState,
+                            readValueType, boolValue, identityTransform ? "<identity>" : localReadTransformation);
+                }
                 states.put(channelUID, transformedState);
             } else {
                 String types = String.join(", ",
@@ -1013,7 +1045,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 logger.warn(
                         "Channel {} will not be updated since transformation was unsuccessful. Channel is expecting the following data types [{}]. Input data: number value {} (value type '{}' taken into account) and bool value {}. Transformation: {}",
                         channelId, types, numericState, readValueType, boolValue,
-                        localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
+                        identityTransform ? "<identity>" : localReadTransformation);
             }
         });
 
@@ -1031,7 +1063,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             long now = System.currentTimeMillis();
             // Update channels that have not been updated in a while, or when their values has changed
             states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
+            // forget channels that were not updated, e.g. unlinked ones, so they are updated again when linked
+            channelLastState.keySet().retainAll(states.keySet());
+            channelLastState.putAll(states);
         }
     }
 
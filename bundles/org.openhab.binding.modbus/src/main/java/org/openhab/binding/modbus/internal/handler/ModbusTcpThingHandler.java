@@ -61,6 +61,8 @@ public class ModbusTcpThingHandler
         poolConfiguration.setInterConnectDelayMillis(config.getTimeBetweenReconnectMillis());
         poolConfiguration.setInterTransactionDelayMillis(config.getTimeBetweenTransactionsMillis());
         poolConfiguration.setReconnectAfterMillis(config.getReconnectAfterMillis());
+
+        pollCoalescingGap = config.isCoalescePolls() ? Math.max(0, config.getCoalescingGap()) : -1;
     }
 
     @SuppressWarnings("null") // since Optional.map is always called with NonNull argument
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescerTest {
+
+    private static final ModbusReadFunctionCode HOLDING = ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS;
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMergedPollIsSplitForEachPoller() {
+        ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> plan = ArgumentCaptor.forClass(Runnable.class);
+
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, scheduler, 2);
+        List<AsyncModbusReadResult> results = new ArrayList<>();
+        ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = mock(ModbusFailureCallback.class);
+        coalescer.registerRegularPoll(new ModbusReadRequestBlueprint(1, HOLDING, 0, 10, 1), 1000, results::add,
+                failureCallback);
+        coalescer.registerRegularPoll(new ModbusReadRequestBlueprint(1, HOLDING, 12, 5, 1), 1000, results::add,
+                failureCallback);
+        // too far away to be merged with the gap tolerance of 2
+        coalescer.registerRegularPoll(new ModbusReadRequestBlueprint(1, HOLDING, 50, 2, 1), 1000, results::add,
+                failureCallback);
+
+        verify(scheduler).schedule(plan.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        plan.getValue().run();
+
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        ArgumentCaptor<ModbusReadCallback> callback = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, times(2)).registerRegularPoll(request.capture(), eq(1000L), eq(0L), callback.capture(), any());
+        ModbusReadRequestBlueprint merged = request.getAllValues().get(0);
+        assertThat(merged.getReference(), is(equalTo(0)));
+        assertThat(merged.getDataLength(), is(equalTo(17)));
+
+        byte[] bytes = new byte[merged.getDataLength() * 2];
+        for (int i = 0; i < merged.getDataLength(); i++) {
+            bytes[i * 2 + 1] = (byte) i;
+        }
+        callback.getAllValues().get(0).handle(new AsyncModbusReadResult(merged, new ModbusRegisterArray(bytes)));
+
+        assertThat(results.size(), is(equalTo(2)));
+        ModbusRegisterArray first = results.get(0).getRegisters().get();
+        assertThat(first.size(), is(equalTo(10)));
+        assertThat(first.getRegister(9), is(equalTo(9)));
+        ModbusRegisterArray second = results.get(1).getRegisters().get();
+        assertThat(results.get(1).getRequest().getReference(), is(equalTo(12)));
+        assertThat(second.size(), is(equalTo(5)));
+        assertThat(second.getRegister(0), is(equalTo(12)));
+        assertThat(coalescer.getSavedRoundTrips(), is(equalTo(1L)));
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterValueDecoderTest {
+
+    private static final ModbusRegisterArray REGISTERS = new ModbusRegisterArray(
+            new byte[] { 0x00, 0x01, 0x12, 0x34, 0x56, 0x78 });
+
+    @Test
+    public void testMultiRegisterValue() {
+        RegisterValueDecoder decoder = new RegisterValueDecoder(ValueType.INT32, 1, 0);
+        assertThat(decoder.getExtractIndex(), is(equalTo(1)));
+        assertThat(decoder.isContainedIn(REGISTERS), is(true));
+        assertThat(decoder.getRawValue(REGISTERS), is(equalTo(0x12345678L)));
+        assertThat(decoder.decode(REGISTERS), is(equalTo(new DecimalType(0x12345678))));
+    }
+
+    @Test
+    public void testSubRegisterValuesCompareWholeRegister() {
+        RegisterValueDecoder byteDecoder = new RegisterValueDecoder(ValueType.INT8, 2, 1);
+        assertThat(byteDecoder.getExtractIndex(), is(equalTo(5)));
+        assertThat(byteDecoder.getRawValue(REGISTERS), is(equalTo(0x5678L)));
+        assertThat(byteDecoder.decode(REGISTERS), is(equalTo(new DecimalType(0x56))));
+
+        RegisterValueDecoder bitDecoder = new RegisterValueDecoder(ValueType.BIT, 0, 0);
+        assertThat(bitDecoder.getExtractIndex(), is(equalTo(0)));
+        assertThat(bitDecoder.getRawValue(REGISTERS), is(equalTo(0x0001L)));
+        assertThat(bitDecoder.decode(REGISTERS), is(equalTo(new DecimalType(1))));
+    }
+
+    @Test
+    public void testValueOutsideOfRegisters() {
+        assertThat(new RegisterValueDecoder(ValueType.INT64, 0, 0).isContainedIn(REGISTERS), is(false));
+        assertThat(new RegisterValueDecoder(ValueType.INT16, 3, 0).isContainedIn(REGISTERS), is(false));
+        assertThat(new RegisterValueDecoder(ValueType.INT16, 2, 0).isContainedIn(REGISTERS), is(true));
+    }
+}
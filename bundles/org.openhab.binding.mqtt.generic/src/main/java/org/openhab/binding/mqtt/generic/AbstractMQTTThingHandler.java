@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.SharedPayloadDecoder;
 import org.openhab.binding.mqtt.generic.utils.FutureCollector;
 import org.openhab.binding.mqtt.generic.values.OnOffValue;
 import org.openhab.binding.mqtt.generic.values.Value;
@@ -81,6 +82,12 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
 
     protected @Nullable MqttBrokerConnection connection;
 
+    /**
+     * Decodes each received payload once for all {@link ChannelState}s subscribed to its topic, see
+     * {@link ChannelState#setPayloadDecoder(SharedPayloadDecoder)}.
+     */
+    protected final SharedPayloadDecoder payloadDecoder = new SharedPayloadDecoder();
+
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
     private AvailabilityMode availabilityMode = AvailabilityMode.ALL;
@@ -120,6 +127,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     protected void stop() {
         clearAllAvailabilityTopics();
         resetMessageReceived();
+        payloadDecoder.clear();
     }
 
     @Override
@@ -331,6 +339,7 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
             if (transformation_pattern != null && transformationServiceProvider != null) {
                 state.addTransformation(transformation_pattern, transformationServiceProvider);
             }
+            state.setPayloadDecoder(payloadDecoder);
             MqttBrokerConnection connection = getConnection();
             if (connection != null) {
                 state.start(connection, scheduler, 0);
@@ -24,6 +24,7 @@ import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.mqtt.generic.tools.SharedPayloadDecoder;
 import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
@@ -60,6 +61,7 @@ public class ChannelState implements MqttMessageSubscriber {
     protected final List<ChannelStateTransformation> transformationsIn = new ArrayList<>();
     protected final List<ChannelStateTransformation> transformationsOut = new ArrayList<>();
     private @Nullable ChannelStateUpdateListener channelStateUpdateListener;
+    private @Nullable SharedPayloadDecoder payloadDecoder;
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
@@ -172,7 +174,9 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        final SharedPayloadDecoder payloadDecoder = this.payloadDecoder;
+        String strValue = payloadDecoder != null ? payloadDecoder.decode(topic, payload)
+                : new String(payload, StandardCharsets.UTF_8);
         for (ChannelStateTransformation t : transformationsIn) {
             String transformedValue = t.processValue(strValue);
             if (transformedValue != null) {
@@ -423,6 +427,16 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = channelStateUpdateListener;
     }
 
+    /**
+     * Sets a decoder that is shared with the other channels of the thing, so a payload received on a topic with
+     * several channels is only decoded once.
+     *
+     * @param payloadDecoder The shared decoder or null to decode each payload separately
+     */
+    public void setPayloadDecoder(@Nullable SharedPayloadDecoder payloadDecoder) {
+        this.payloadDecoder = payloadDecoder;
+    }
+
     public @Nullable MqttBrokerConnection getConnection() {
         return connection;
     }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Decodes MQTT payloads to text once per message and topic, for all channels subscribed to the same topic.
+ *
+ * <p>
+ * The broker connection hands the same payload array to every subscriber of a topic. The decoded text of the last
+ * payload is kept per topic and returned for as long as the same array is passed in, so all channels of a thing that
+ * read from one topic, like the JSON state topic of a Tasmota or zigbee2mqtt device, share one {@link String}
+ * instance. Transformation services that cache parsed documents, like JSONPATH, then parse the payload only once.
+ * </p>
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class SharedPayloadDecoder {
+
+    private record Decoded(byte[] payload, String text) {
+    }
+
+    private final Map<String, Decoded> lastDecoded = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the payload as UTF-8 text.
+     *
+     * @param topic The topic the payload was received on
+     * @param payload The payload
+     * @return The decoded text, the same instance for repeated calls with the same payload array
+     */
+    public String decode(String topic, byte[] payload) {
+        Decoded decoded = lastDecoded.get(topic);
+        // compared by identity, a new message always comes with a new array
+        if (decoded == null || decoded.payload != payload) {
+            decoded = new Decoded(payload, new String(payload, StandardCharsets.UTF_8));
+            lastDecoded.put(topic, decoded);
+        }
+        return decoded.text;
+    }
+
+    /**
+     * Forgets all decoded payloads.
+     */
+    public void clear() {
+        lastDecoded.clear();
+    }
+}
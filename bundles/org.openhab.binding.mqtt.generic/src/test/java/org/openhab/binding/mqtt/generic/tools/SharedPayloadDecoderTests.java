@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SharedPayloadDecoder} class.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class SharedPayloadDecoderTests {
+
+    @Test
+    public void samePayloadIsDecodedOnce() {
+        SharedPayloadDecoder decoder = new SharedPayloadDecoder();
+        byte[] payload = "{\"temperature\":21.5}".getBytes(StandardCharsets.UTF_8);
+
+        String first = decoder.decode("tele/sensor/STATE", payload);
+        assertThat(first, is("{\"temperature\":21.5}"));
+        assertThat(decoder.decode("tele/sensor/STATE", payload), is(sameInstance(first)));
+    }
+
+    @Test
+    public void newPayloadIsDecodedAgain() {
+        SharedPayloadDecoder decoder = new SharedPayloadDecoder();
+        byte[] payload = "ON".getBytes(StandardCharsets.UTF_8);
+
+        String first = decoder.decode("stat/switch/POWER", payload);
+        String second = decoder.decode("stat/switch/POWER", "ON".getBytes(StandardCharsets.UTF_8));
+        assertThat(second, is("ON"));
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(decoder.decode("stat/other/POWER", "OFF".getBytes(StandardCharsets.UTF_8)), is("OFF"));
+    }
+}
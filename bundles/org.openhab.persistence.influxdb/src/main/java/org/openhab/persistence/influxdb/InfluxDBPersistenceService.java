@@ -14,6 +14,8 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -25,15 +27,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -57,6 +59,8 @@ import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.InfluxPointQueue;
+import org.openhab.persistence.influxdb.internal.InfluxPointSpillFile;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -111,7 +115,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxPointQueue pointsQueue;
+    private final ExecutorService writerPool = ThreadPoolManager.getPool("org.openhab.influxdb.writer");
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -124,6 +129,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsQueue = new InfluxPointQueue(configuration.getQueueSize(), configuration.getBatchSize(),
+                    createSpillFile());
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -145,6 +152,21 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    private @Nullable InfluxPointSpillFile createSpillFile() {
+        int spillMaxSize = configuration.getSpillMaxSize();
+        if (spillMaxSize <= 0) {
+            return null;
+        }
+        Path directory = Path.of(OpenHAB.getUserDataFolder(), SERVICE_NAME);
+        try {
+            return new InfluxPointSpillFile(directory, spillMaxSize * 1024L * 1024L);
+        } catch (IOException e) {
+            logger.warn("Failed to create spill directory {}, points will be dropped when the queue is full: {}",
+                    directory, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -155,9 +177,14 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
+        if (pointsQueue.size() > 0) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
+        if (pointsQueue.getSpillSize() > 0) {
+            logger.info("InfluxDB keeps {} bytes of spilled points, they will be written after the next start.",
+                    pointsQueue.getSpillSize());
+        }
+        pointsQueue.close();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -213,7 +240,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
             if (pointsQueue.offer(point)) {
                 logger.trace("Queued {} for item {}", point, item);
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.warn("Failed to queue {} for item {}, the queue is full.", point, item);
             }
         });
     }
@@ -279,20 +306,55 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+    private synchronized void commit() {
+        if (pointsQueue.isEmpty() || !checkConnection()) {
+            return;
+        }
+        int writerThreads = configuration.getWriterThreads();
+        boolean failed = false;
+        while (!failed) {
+            List<InfluxPointQueue.Batch> batches = new ArrayList<>(writerThreads);
+            for (int i = 0; i < writerThreads; i++) {
+                InfluxPointQueue.Batch batch = pointsQueue.poll();
+                if (batch == null) {
+                    break;
+                }
+                batches.add(batch);
             }
+            if (batches.isEmpty()) {
+                break;
+            }
+            // the first batch is written by the current thread, further ones in parallel
+            List<CompletableFuture<Boolean>> results = new ArrayList<>(batches.size());
+            for (int i = 1; i < batches.size(); i++) {
+                List<InfluxPoint> points = batches.get(i).points();
+                results.add(CompletableFuture.supplyAsync(() -> influxDBRepository.write(points), writerPool));
+            }
+            results.add(0, CompletableFuture.completedFuture(influxDBRepository.write(batches.get(0).points())));
+            for (int i = 0; i < batches.size(); i++) {
+                InfluxPointQueue.Batch batch = batches.get(i);
+                boolean written = results.get(i).exceptionally(e -> false).join();
+                pointsQueue.complete(batch, written);
+                if (written) {
+                    logger.trace("Wrote {} elements to database", batch.points().size());
+                } else {
+                    logger.warn("Re-queuing {} elements, failed to write batch.", batch.points().size());
+                    failed = true;
+                }
+            }
+        }
+        if (failed) {
+            influxDBRepository.disconnect();
         }
     }
 
+    /**
+     * Get the queue of points waiting to be written, e.g. for statistics.
+     */
+    public InfluxPointQueue getPointsQueue() {
+        return pointsQueue;
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -40,6 +40,10 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String WRITER_THREADS_PARAM = "writerThreads";
+    public static final String SPILL_MAX_SIZE_PARAM = "spillMaxSize";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -52,6 +56,10 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final int batchSize;
+    private final int writerThreads;
+    private final int spillMaxSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -65,6 +73,10 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 100000));
+        batchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000));
+        writerThreads = Math.max(1, ConfigParser.valueAsOrElse(config.get(WRITER_THREADS_PARAM), Integer.class, 1));
+        spillMaxSize = Math.max(0, ConfigParser.valueAsOrElse(config.get(SPILL_MAX_SIZE_PARAM), Integer.class, 50));
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -155,12 +167,32 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    /**
+     * @return maximum size of the spill files in MB, 0 if spilling is disabled
+     */
+    public int getSpillMaxSize() {
+        return spillMaxSize;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", batchSize=" + batchSize
+                + ", writerThreads=" + writerThreads + ", spillMaxSize=" + spillMaxSize + '}';
     }
 }
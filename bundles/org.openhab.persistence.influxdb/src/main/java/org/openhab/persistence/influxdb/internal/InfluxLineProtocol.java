@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes {@link InfluxPoint}s to the InfluxDB line protocol with millisecond precision, without creating the
+ * point objects of the client libraries first.
+ *
+ * The output is the same as the one of the InfluxDB 2 client: tags are sorted by key, empty tags are omitted and
+ * decimal numbers are written without exponent and trailing zeros.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxLineProtocol {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InfluxLineProtocol.class);
+
+    // buffers which grew beyond this size are not kept for the next batch
+    private static final int MAX_RETAINED_CAPACITY = 1024 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    private InfluxLineProtocol() {
+        // utility class
+    }
+
+    /**
+     * Serializes a batch of points, one line per point. Points which can't be represented are skipped.
+     *
+     * @param points the points
+     * @return the line protocol, empty if there is no point to write
+     */
+    public static String toLineProtocol(List<InfluxPoint> points) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        for (InfluxPoint point : points) {
+            int start = buffer.length();
+            if (start > 0) {
+                buffer.append('\n');
+            }
+            if (!appendPoint(buffer, point)) {
+                buffer.setLength(start);
+            }
+        }
+        String lineProtocol = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return lineProtocol;
+    }
+
+    /**
+     * Appends a single point without line separator.
+     *
+     * @return false if the point could not be serialized, the content of the buffer is undefined then
+     */
+    public static boolean appendPoint(StringBuilder buffer, InfluxPoint point) {
+        escapeKey(buffer, point.getMeasurementName(), false);
+        for (Map.Entry<String, String> tag : point.getTags().entrySet()) {
+            String key = tag.getKey();
+            String value = tag.getValue();
+            if (!key.isEmpty() && !value.isEmpty()) {
+                buffer.append(',');
+                escapeKey(buffer, key, true);
+                buffer.append('=');
+                escapeKey(buffer, value, true);
+            }
+        }
+        buffer.append(' ').append(FIELD_VALUE_NAME).append('=');
+        if (!appendValue(buffer, point.getValue())) {
+            LOGGER.warn("Could not convert {}, discarding this datapoint", point);
+            return false;
+        }
+        buffer.append(' ').append(point.getTime().toEpochMilli());
+        return true;
+    }
+
+    private static boolean appendValue(StringBuilder buffer, @Nullable Object value) {
+        if (value instanceof String string) {
+            buffer.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buffer.append('\\');
+                }
+                buffer.append(c);
+            }
+            buffer.append('"');
+        } else if (value instanceof BigDecimal decimal) {
+            appendDecimal(buffer, decimal);
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (!Double.isFinite(number)) {
+                return false;
+            }
+            appendDecimal(buffer, BigDecimal.valueOf(number));
+        } else if (value instanceof Number number) {
+            buffer.append(number).append('i');
+        } else if (value instanceof Boolean bool) {
+            buffer.append(bool.booleanValue());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static void appendDecimal(StringBuilder buffer, BigDecimal decimal) {
+        if (decimal.scale() <= 0) {
+            buffer.append(decimal.toBigInteger());
+        } else {
+            buffer.append(decimal.stripTrailingZeros().toPlainString());
+        }
+    }
+
+    private static void escapeKey(StringBuilder buffer, String key, boolean escapeEqual) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            switch (c) {
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                case ' ', ',' -> buffer.append('\\').append(c);
+                case '=' -> {
+                    if (escapeEqual) {
+                        buffer.append('\\');
+                    }
+                    buffer.append(c);
+                }
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded queue for {@link InfluxPoint}s waiting to be written.
+ *
+ * Points are kept in memory up to the configured capacity. When the memory queue is full, points are spilled to an
+ * optional {@link InfluxPointSpillFile} and only dropped if that is full too. Batches are taken from memory first,
+ * spilled points are replayed in batches once the memory queue has been drained.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointQueue {
+    private final ArrayBlockingQueue<InfluxPoint> queue;
+    private final @Nullable InfluxPointSpillFile spillFile;
+    private final int batchSize;
+    private final AtomicBoolean replaying = new AtomicBoolean(false);
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    /**
+     * A batch of points taken from the queue, which has to be completed with
+     * {@link InfluxPointQueue#complete(Batch, boolean)}.
+     */
+    public record Batch(List<InfluxPoint> points, boolean replayed) {
+    }
+
+    public InfluxPointQueue(int capacity, int batchSize, @Nullable InfluxPointSpillFile spillFile) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.spillFile = spillFile;
+    }
+
+    /**
+     * Adds a point to the queue.
+     *
+     * @return false if the point has been dropped
+     */
+    public boolean offer(InfluxPoint point) {
+        if (queue.offer(point)) {
+            return true;
+        }
+        InfluxPointSpillFile spillFile = this.spillFile;
+        if (spillFile != null && spillFile.append(List.of(point))) {
+            spilledCount.incrementAndGet();
+            return true;
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Takes the next batch of points. Only one batch of spilled points is handed out at a time, so it can be
+     * acknowledged in order.
+     *
+     * @return the batch or null if there are no points available
+     */
+    public @Nullable Batch poll() {
+        List<InfluxPoint> points = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(points, batchSize);
+        if (!points.isEmpty()) {
+            return new Batch(points, false);
+        }
+        InfluxPointSpillFile spillFile = this.spillFile;
+        if (spillFile != null && replaying.compareAndSet(false, true)) {
+            spillFile.flush();
+            points = spillFile.read(batchSize);
+            if (!points.isEmpty()) {
+                return new Batch(points, true);
+            }
+            replaying.set(false);
+        }
+        return null;
+    }
+
+    /**
+     * Completes a batch taken with {@link #poll()}.
+     *
+     * Points of a failed batch are spilled to disk if possible, otherwise they are put back into the memory queue as
+     * far as there is space, the rest is dropped. Failed spilled points are replayed again.
+     *
+     * @param batch the batch
+     * @param written true if the points have been written to the database
+     */
+    public void complete(Batch batch, boolean written) {
+        InfluxPointSpillFile spillFile = this.spillFile;
+        if (batch.replayed()) {
+            if (spillFile != null) {
+                if (written) {
+                    spillFile.acknowledge();
+                    replayedCount.addAndGet(batch.points().size());
+                } else {
+                    spillFile.rewind();
+                }
+            }
+            replaying.set(false);
+        } else if (!written) {
+            if (spillFile != null && spillFile.append(batch.points())) {
+                spilledCount.addAndGet(batch.points().size());
+            } else {
+                for (InfluxPoint point : batch.points()) {
+                    if (!queue.offer(point)) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+            }
+        }
+        if (written) {
+            writtenCount.addAndGet(batch.points().size());
+        }
+    }
+
+    public boolean isEmpty() {
+        InfluxPointSpillFile spillFile = this.spillFile;
+        return queue.isEmpty() && (spillFile == null || spillFile.isEmpty());
+    }
+
+    /**
+     * Writes spilled points to disk and releases the spill file.
+     */
+    public void close() {
+        InfluxPointSpillFile spillFile = this.spillFile;
+        if (spillFile != null) {
+            spillFile.close();
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getSpillPointCount() {
+        InfluxPointSpillFile spillFile = this.spillFile;
+        return spillFile != null ? spillFile.getPointCount() : 0;
+    }
+
+    public long getSpillSize() {
+        InfluxPointSpillFile spillFile = this.spillFile;
+        return spillFile != null ? spillFile.getSize() : 0;
+    }
+
+    public boolean isSpillEnabled() {
+        return spillFile != null;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+}
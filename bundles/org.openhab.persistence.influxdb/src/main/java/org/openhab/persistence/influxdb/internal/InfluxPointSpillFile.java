@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only storage for {@link InfluxPoint}s which do not fit into the memory queue.
+ *
+ * Points are appended to numbered segment files in the given directory. Segments are replayed oldest first and
+ * deleted once all of their points have been acknowledged, so points survive an outage of the database as well as
+ * a restart of openHAB. Each point is stored as a length-prefixed record, a truncated record at the end of a segment
+ * (e.g. after a crash) is ignored.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointSpillFile {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spill";
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_BOOLEAN = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_DECIMAL = 6;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxPointSpillFile.class);
+    private final Path directory;
+    private final long maxBytes;
+
+    // all segments with their size, the last one is the one appended to
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private long totalBytes;
+    private long pointCount;
+    private long nextSegment;
+    private @Nullable OutputStream writer;
+    private long writerSegment = -1;
+
+    // replay state of the oldest segment
+    private long readPosition;
+    private long pendingPosition = -1;
+    private int pendingCount;
+
+    public InfluxPointSpillFile(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        long number = Long.parseLong(
+                                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                        long size = Files.size(file);
+                        segments.put(number, size);
+                        totalBytes += size;
+                    } catch (NumberFormatException e) {
+                        logger.debug("Ignoring unexpected file {} in spill directory", file);
+                    }
+                }
+            }
+        }
+        nextSegment = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        if (!segments.isEmpty()) {
+            logger.info("Found {} bytes of spilled points in {}, they will be replayed.", totalBytes, directory);
+        }
+    }
+
+    /**
+     * Appends points to the newest segment.
+     *
+     * @return false if the points would exceed the maximum size or could not be written
+     */
+    public synchronized boolean append(List<InfluxPoint> points) {
+        if (points.isEmpty()) {
+            return true;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * points.size());
+            DataOutputStream out = new DataOutputStream(bytes);
+            ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+            DataOutputStream recordOut = new DataOutputStream(record);
+            for (InfluxPoint point : points) {
+                record.reset();
+                encode(point, recordOut);
+                out.writeInt(record.size());
+                record.writeTo(out);
+            }
+            if (totalBytes + bytes.size() > maxBytes) {
+                return false;
+            }
+            OutputStream writer = getWriter();
+            bytes.writeTo(writer);
+            segments.merge(writerSegment, (long) bytes.size(), Long::sum);
+            totalBytes += bytes.size();
+            pointCount += points.size();
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to spill {} points to {}: {}", points.size(), directory, e.getMessage());
+            closeWriter();
+            return false;
+        }
+    }
+
+    /**
+     * Reads the next points of the oldest segment. The points are returned again until they are acknowledged with
+     * {@link #acknowledge()}, {@link #rewind()} makes them available for the next read.
+     *
+     * @param maxPoints maximum number of points to read
+     * @return the points, empty if there are no spilled points or the last read has not been acknowledged yet
+     */
+    public synchronized List<InfluxPoint> read(int maxPoints) {
+        if (pendingPosition >= 0 || segments.isEmpty()) {
+            return List.of();
+        }
+        long segment = segments.firstKey();
+        if (segment == writerSegment) {
+            // start a new segment for appends, so the replayed one does not change anymore
+            closeWriter();
+        }
+        long size = Objects.requireNonNull(segments.get(segment));
+        List<InfluxPoint> points = new ArrayList<>(Math.min(maxPoints, 1024));
+        long position = readPosition;
+        try (InputStream stream = Files.newInputStream(segmentFile(segment))) {
+            stream.skipNBytes(readPosition);
+            DataInputStream in = new DataInputStream(stream);
+            while (points.size() < maxPoints && position < size) {
+                int length = in.readInt();
+                if (length < 0 || length > size - position) {
+                    throw new EOFException();
+                }
+                byte[] record = in.readNBytes(length);
+                if (record.length < length) {
+                    throw new EOFException();
+                }
+                points.add(decode(new DataInputStream(new ByteArrayInputStream(record))));
+                position += Integer.BYTES + length;
+            }
+        } catch (EOFException e) {
+            logger.debug("Ignoring truncated record at the end of spill segment {}", segment);
+            position = size;
+        } catch (IOException e) {
+            logger.warn("Failed to read spilled points from segment {}, skipping it: {}", segment, e.getMessage());
+            position = size;
+            points.clear();
+        }
+        pendingPosition = points.isEmpty() ? size : position;
+        pendingCount = points.size();
+        if (points.isEmpty()) {
+            // nothing (more) to read from this segment, continue with the next one
+            acknowledge();
+            return read(maxPoints);
+        }
+        return points;
+    }
+
+    /**
+     * Marks the points returned by the last {@link #read(int)} as written.
+     */
+    public synchronized void acknowledge() {
+        if (pendingPosition < 0) {
+            return;
+        }
+        long segment = segments.firstKey();
+        readPosition = pendingPosition;
+        pointCount = Math.max(0, pointCount - pendingCount);
+        pendingPosition = -1;
+        pendingCount = 0;
+        long size = Objects.requireNonNull(segments.get(segment));
+        if (readPosition >= size) {
+            try {
+                Files.deleteIfExists(segmentFile(segment));
+            } catch (IOException e) {
+                logger.warn("Failed to delete spill segment {}: {}", segment, e.getMessage());
+            }
+            segments.remove(segment);
+            totalBytes -= size;
+            readPosition = 0;
+            if (segments.isEmpty()) {
+                pointCount = 0;
+            }
+        }
+    }
+
+    /**
+     * Makes the points returned by the last {@link #read(int)} available again.
+     */
+    public synchronized void rewind() {
+        pendingPosition = -1;
+        pendingCount = 0;
+    }
+
+    /**
+     * Writes buffered appends to disk.
+     */
+    public synchronized void flush() {
+        OutputStream writer = this.writer;
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to flush spill segment {}: {}", writerSegment, e.getMessage());
+                closeWriter();
+            }
+        }
+    }
+
+    public synchronized void close() {
+        closeWriter();
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public synchronized long getSize() {
+        return totalBytes;
+    }
+
+    /**
+     * @return the number of spilled points, points spilled before a restart are not included
+     */
+    public synchronized long getPointCount() {
+        return pointCount;
+    }
+
+    private OutputStream getWriter() throws IOException {
+        OutputStream writer = this.writer;
+        if (writer == null) {
+            writerSegment = nextSegment++;
+            writer = new BufferedOutputStream(Files.newOutputStream(segmentFile(writerSegment),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            segments.putIfAbsent(writerSegment, 0L);
+            this.writer = writer;
+        }
+        return writer;
+    }
+
+    private void closeWriter() {
+        OutputStream writer = this.writer;
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close spill segment {}: {}", writerSegment, e.getMessage());
+            }
+        }
+        this.writer = null;
+        writerSegment = -1;
+    }
+
+    private Path segmentFile(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    // Visible for testing
+    static void encode(InfluxPoint point, DataOutputStream out) throws IOException {
+        out.writeUTF(point.getMeasurementName());
+        out.writeLong(point.getTime().toEpochMilli());
+        Object value = point.getValue();
+        if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(string);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeUTF(decimal.toString());
+        } else if (value instanceof Number number) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(String.valueOf(value));
+        }
+        Map<String, String> tags = point.getTags();
+        out.writeShort(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            out.writeUTF(tag.getKey());
+            out.writeUTF(tag.getValue());
+        }
+    }
+
+    // Visible for testing
+    static InfluxPoint decode(DataInputStream in) throws IOException {
+        InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                .withTime(Instant.ofEpochMilli(in.readLong()));
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_STRING -> builder.withValue(in.readUTF());
+            case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+            case TYPE_INTEGER -> builder.withValue(in.readInt());
+            case TYPE_LONG -> builder.withValue(in.readLong());
+            case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+            case TYPE_DECIMAL -> builder.withValue(new BigDecimal(in.readUTF()));
+            default -> throw new IOException("Unknown value type " + type);
+        }
+        int tagCount = in.readUnsignedShort();
+        for (int i = 0; i < tagCount; i++) {
+            builder.withTag(in.readUTF(), in.readUTF());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.ConsoleCommandCompleter;
+import org.openhab.core.io.console.StringsCompleter;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.persistence.influxdb.InfluxDBPersistenceService;
+import org.openhab.persistence.influxdb.internal.InfluxPointQueue;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link InfluxDBCommandExtension} is responsible for handling console commands
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class InfluxDBCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
+
+    private static final String CMD_QUEUE = "queue";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_QUEUE), false);
+
+    private final PersistenceServiceRegistry persistenceServiceRegistry;
+
+    @Activate
+    public InfluxDBCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry) {
+        super(InfluxDBPersistenceService.SERVICE_NAME, "Interact with the InfluxDB persistence service.");
+        this.persistenceServiceRegistry = persistenceServiceRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_QUEUE.equalsIgnoreCase(args[0])) {
+            InfluxDBPersistenceService persistenceService = getPersistenceService();
+            if (persistenceService != null) {
+                showQueue(persistenceService, console);
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+
+    private @Nullable InfluxDBPersistenceService getPersistenceService() {
+        for (PersistenceService persistenceService : persistenceServiceRegistry.getAll()) {
+            if (persistenceService instanceof InfluxDBPersistenceService service) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    private void showQueue(InfluxDBPersistenceService persistenceService, Console console) {
+        InfluxPointQueue queue = persistenceService.getPointsQueue();
+        console.println("Queued points:   " + queue.size() + " / " + queue.getCapacity());
+        if (queue.isSpillEnabled()) {
+            console.println("Spilled points:  " + queue.getSpillPointCount() + " (" + queue.getSpillSize() + " bytes)");
+        } else {
+            console.println("Spilled points:  spilling disabled");
+        }
+        console.println("Written points:  " + queue.getWrittenCount());
+        console.println("Spill writes:    " + queue.getSpilledCount());
+        console.println("Replayed points: " + queue.getReplayedCount());
+        console.println("Dropped points:  " + queue.getDroppedCount());
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_QUEUE, "show write queue statistics"));
+    }
+
+    @Override
+    public @Nullable ConsoleCommandCompleter getCompleter() {
+        return this;
+    }
+
+    @Override
+    public boolean complete(String[] args, int cursorArgumentIndex, int cursorPosition, List<String> candidates) {
+        if (cursorArgumentIndex <= 0) {
+            return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+        }
+        return false;
+    }
+}
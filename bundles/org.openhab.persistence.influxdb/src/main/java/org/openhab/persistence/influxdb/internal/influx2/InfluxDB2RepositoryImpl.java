@@ -22,7 +22,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,6 +33,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBConstants;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxLineProtocol;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +46,6 @@ import com.influxdb.client.QueryApi;
 import com.influxdb.client.WriteApi;
 import com.influxdb.client.domain.Ready;
 import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.influxdb.exceptions.InfluxException;
 import com.influxdb.query.FluxTable;
 
@@ -146,9 +145,10 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
             return false;
         }
         try {
-            List<Point> clientPoints = influxPoints.stream().map(this::convertPointToClientFormat)
-                    .filter(Optional::isPresent).map(Optional::get).toList();
-            currentWriteAPI.writePoints(clientPoints);
+            String lineProtocol = InfluxLineProtocol.toLineProtocol(influxPoints);
+            if (!lineProtocol.isEmpty()) {
+                currentWriteAPI.writeRecord(WritePrecision.MS, lineProtocol);
+            }
         } catch (InfluxException | InfluxDBIOException e) {
             logger.debug("Writing to database failed", e);
             return false;
@@ -192,26 +192,6 @@ public class InfluxDB2RepositoryImpl implements InfluxDBRepository {
         return true;
     }
 
-    private Optional<Point> convertPointToClientFormat(InfluxPoint point) {
-        Point clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime(), WritePrecision.MS);
-        @Nullable
-        Object value = point.getValue();
-        if (value instanceof String string) {
-            clientPoint.addField(FIELD_VALUE_NAME, string);
-        } else if (value instanceof Number number) {
-            clientPoint.addField(FIELD_VALUE_NAME, number);
-        } else if (value instanceof Boolean boolean1) {
-            clientPoint.addField(FIELD_VALUE_NAME, boolean1);
-        } else if (value == null) {
-            clientPoint.addField(FIELD_VALUE_NAME, (String) null);
-        } else {
-            logger.warn("Could not convert {}, discarding this datapoint)", clientPoint);
-            return Optional.empty();
-        }
-        point.getTags().forEach(clientPoint::addTag);
-        return Optional.of(clientPoint);
-    }
-
     @Override
     public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
         try {
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_VALUE_NAME;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+
+/**
+ * Tests the {@link InfluxLineProtocol} against fixed output and the line protocol of the InfluxDB client library.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxLineProtocolTest {
+
+    private static final Instant TIME = Instant.ofEpochMilli(1700000000123L);
+
+    private static InfluxPoint point(String measurement, Object value) {
+        return InfluxPoint.newBuilder(measurement).withTime(TIME).withValue(value).withTag("item", measurement)
+                .build();
+    }
+
+    private static Stream<InfluxPoint> points() {
+        return Stream.of(point("number", new BigDecimal("1.12")), //
+                point("integral", new BigDecimal("42")), //
+                point("negative", new BigDecimal("-0.5")), //
+                point("switch", 1), //
+                point("datetime", 1700000000000L), //
+                point("string", "text with \"quotes\" and \\ backslash"), //
+                point("bool", true), //
+                point("with space,comma", "x"), //
+                InfluxPoint.newBuilder("tags").withTime(TIME).withValue(1).withTag("type", "Number")
+                        .withTag("label", "a=b c,d").withTag("item", "tags").build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("points")
+    public void lineProtocolMatchesClientLibrary(InfluxPoint point) {
+        Point clientPoint = Point.measurement(point.getMeasurementName()).time(point.getTime(), WritePrecision.MS);
+        Object value = point.getValue();
+        if (value instanceof String string) {
+            clientPoint.addField(FIELD_VALUE_NAME, string);
+        } else if (value instanceof Number number) {
+            clientPoint.addField(FIELD_VALUE_NAME, number);
+        } else if (value instanceof Boolean bool) {
+            clientPoint.addField(FIELD_VALUE_NAME, bool);
+        }
+        point.getTags().forEach(clientPoint::addTag);
+
+        assertThat(InfluxLineProtocol.toLineProtocol(List.of(point)), is(clientPoint.toLineProtocol()));
+    }
+
+    @Test
+    public void batchMatchesGoldenOutput() {
+        String expected = String.join("\n", //
+                "number,item=number value=1.12 1700000000123", //
+                "integral,item=integral value=42 1700000000123", //
+                "negative,item=negative value=-0.5 1700000000123", //
+                "switch,item=switch value=1i 1700000000123", //
+                "datetime,item=datetime value=1700000000000i 1700000000123", //
+                "string,item=string value=\"text with \\\"quotes\\\" and \\\\ backslash\" 1700000000123", //
+                "bool,item=bool value=true 1700000000123", //
+                "with\\ space\\,comma,item=with\\ space\\,comma value=\"x\" 1700000000123", //
+                "tags,item=tags,label=a\\=b\\ c\\,d,type=Number value=1i 1700000000123");
+
+        assertThat(InfluxLineProtocol.toLineProtocol(points().collect(Collectors.toList())), is(expected));
+    }
+
+    @Test
+    public void pointsWhichCannotBeSerializedAreSkipped() {
+        List<InfluxPoint> points = List.of(point("nan", Double.NaN), point("first", 1), point("object", new Object()),
+                point("second", 2));
+
+        assertThat(InfluxLineProtocol.toLineProtocol(points),
+                is("first,item=first value=1i 1700000000123\nsecond,item=second value=2i 1700000000123"));
+    }
+
+    @Test
+    public void decimalsAreWrittenWithoutExponentAndTrailingZeros() {
+        assertThat(InfluxLineProtocol.toLineProtocol(List.of(point("d", new BigDecimal("1.2300")))),
+                is("d,item=d value=1.23 1700000000123"));
+        assertThat(InfluxLineProtocol.toLineProtocol(List.of(point("d", new BigDecimal("1E+3")))),
+                is("d,item=d value=1000 1700000000123"));
+        assertThat(InfluxLineProtocol.toLineProtocol(List.of(point("d", 0.1))), is("d,item=d value=0.1 1700000000123"));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link InfluxPointSpillFile}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxPointSpillFileTest {
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+
+    private static InfluxPoint point(Object value) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(1700000000123L))
+                .withValue(value).withTag("item", "TestItem").build();
+    }
+
+    private static String describe(List<InfluxPoint> points) {
+        return points.stream().map(p -> p.getMeasurementName() + p.getTime() + p.getValue() + p.getTags()).toList()
+                .toString();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void readReturnsAppendedPointsWithTheirValueTypes() throws IOException {
+        InfluxPointSpillFile spillFile = new InfluxPointSpillFile(directory, 1024 * 1024);
+        List<InfluxPoint> points = List.of(point("text"), point(true), point(1), point(2L), point(3.5),
+                point(new BigDecimal("4.25")));
+
+        assertThat(spillFile.append(points), is(true));
+        List<InfluxPoint> read = spillFile.read(100);
+
+        assertThat(describe(read), is(describe(points)));
+        assertThat(read.get(5).getValue(), is(new BigDecimal("4.25")));
+    }
+
+    @Test
+    public void rewindReturnsTheSamePointsAgain() throws IOException {
+        InfluxPointSpillFile spillFile = new InfluxPointSpillFile(directory, 1024 * 1024);
+        spillFile.append(List.of(point(1), point(2), point(3)));
+
+        List<InfluxPoint> first = spillFile.read(2);
+        assertThat(spillFile.read(2), is(empty()));
+        spillFile.rewind();
+
+        assertThat(describe(spillFile.read(2)), is(describe(first)));
+    }
+
+    @Test
+    public void acknowledgeDeletesFullyReadSegments() throws IOException {
+        InfluxPointSpillFile spillFile = new InfluxPointSpillFile(directory, 1024 * 1024);
+        spillFile.append(List.of(point(1), point(2), point(3)));
+
+        assertThat(spillFile.read(2).size(), is(2));
+        spillFile.acknowledge();
+        assertThat(describe(spillFile.read(2)), is(describe(List.of(point(3)))));
+        spillFile.acknowledge();
+
+        assertThat(spillFile.isEmpty(), is(true));
+        assertThat(spillFile.getSize(), is(0L));
+        assertThat(segmentCount(), is(0L));
+    }
+
+    @Test
+    public void appendIsRejectedAboveTheSizeLimit() throws IOException {
+        InfluxPointSpillFile spillFile = new InfluxPointSpillFile(directory, 100);
+
+        assertThat(spillFile.append(List.of(point(1))), is(true));
+        assertThat(spillFile.append(List.of(point(2), point(3), point(4))), is(false));
+        assertThat(describe(spillFile.read(10)), is(describe(List.of(point(1)))));
+    }
+
+    @Test
+    public void spilledPointsSurviveARestart() throws IOException {
+        InfluxPointSpillFile spillFile = new InfluxPointSpillFile(directory, 1024 * 1024);
+        spillFile.append(List.of(point(1), point(2)));
+        spillFile.close();
+
+        InfluxPointSpillFile reopened = new InfluxPointSpillFile(directory, 1024 * 1024);
+
+        assertThat(reopened.getSize(), equalTo(spillFile.getSize()));
+        assertThat(describe(reopened.read(10)), is(describe(List.of(point(1), point(2)))));
+    }
+}
@@ -14,18 +14,15 @@ package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -33,6 +30,7 @@ import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
 import org.openhab.core.persistence.PersistenceItemInfo;
@@ -69,7 +67,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
-    private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
+    private final Map<String, TimeSeriesBuffer> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
 
     @Activate
@@ -82,17 +80,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
 
-        persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
-            lock.lock();
-            try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
-            } finally {
-                lock.unlock();
-            }
-        });
+        persistMap.values().forEach(buffer -> buffer.setMaxEntries(maxEntries));
     }
 
     @Deactivate
@@ -112,7 +100,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return persistMap.entrySet().stream().map(this::toItemInfo).collect(Collectors.toSet());
+        Set<PersistenceItemInfo> itemInfo = new HashSet<>();
+        persistMap.forEach((name, buffer) -> {
+            PersistenceItemInfo info = toItemInfo(name, buffer);
+            if (info != null) {
+                itemInfo.add(info);
+            }
+        });
+        return itemInfo;
     }
 
     @Override
@@ -143,19 +138,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        TimeSeriesBuffer buffer = persistMap.get(itemName);
+        if (buffer == null) {
             return false;
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
-        } finally {
-            lock.unlock();
-        }
+        buffer.remove(beginMicros(filter), endMicros(filter), state -> applies(state, filter));
         return true;
     }
 
@@ -166,19 +154,29 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        PersistItem persistItem = persistMap.get(itemName);
-        if (persistItem == null) {
+        TimeSeriesBuffer buffer = persistMap.get(itemName);
+        if (buffer == null) {
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).map(e -> toHistoricItem(itemName, e))
-                    .toList();
-        } finally {
-            lock.unlock();
+        TimeSeriesBuffer.Snapshot snapshot = buffer.snapshot(beginMicros(filter), endMicros(filter));
+        boolean descending = filter.getOrdering() == Ordering.DESCENDING;
+        int pageSize = filter.getPageSize();
+        long skip = (long) filter.getPageNumber() * pageSize;
+        List<HistoricItem> items = new ArrayList<>(Math.min(pageSize, snapshot.size()));
+        for (int n = 0; n < snapshot.size() && items.size() < pageSize; n++) {
+            int index = descending ? snapshot.size() - 1 - n : n;
+            State state = snapshot.getState(index);
+            if (!applies(state, filter)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            items.add(toHistoricItem(itemName, snapshot.getTimestamp(index), state));
         }
+        return items;
     }
 
     @Override
@@ -187,51 +185,48 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return List.of();
     }
 
-    private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
-        lock.lock();
-        try {
-            String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
-            return new PersistenceItemInfo() {
-
-                @Override
-                public String getName() {
-                    return name;
-                }
-
-                @Override
-                public @Nullable Integer getCount() {
-                    return count;
-                }
-
-                @Override
-                public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
-                }
-
-                @Override
-                public @Nullable Date getLatest() {
-                    return Date.from(latest);
-                }
-            };
-        } finally {
-            lock.unlock();
+    private @Nullable PersistenceItemInfo toItemInfo(String name, TimeSeriesBuffer buffer) {
+        TimeSeriesBuffer.Info info = buffer.info();
+        if (info == null) {
+            return null;
         }
+        Integer count = info.count();
+        Instant earliest = info.earliest().toInstant();
+        Instant latest = info.latest().toInstant();
+        return new PersistenceItemInfo() {
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public @Nullable Integer getCount() {
+                return count;
+            }
+
+            @Override
+            public @Nullable Date getEarliest() {
+                return Date.from(earliest);
+            }
+
+            @Override
+            public @Nullable Date getLatest() {
+                return Date.from(latest);
+            }
+        };
     }
 
-    private HistoricItem toHistoricItem(String itemName, PersistEntry entry) {
+    private HistoricItem toHistoricItem(String itemName, ZonedDateTime timestamp, State state) {
         return new HistoricItem() {
             @Override
             public ZonedDateTime getTimestamp() {
-                return entry.timestamp();
+                return timestamp;
             }
 
             @Override
             public State getState() {
-                return entry.state();
+                return state;
             }
 
             @Override
@@ -246,34 +241,28 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
-
-        Lock lock = persistItem.lock();
-        lock.lock();
-        try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
-        } finally {
-            lock.unlock();
-        }
+        TimeSeriesBuffer buffer = Objects
+                .requireNonNull(persistMap.computeIfAbsent(itemName, k -> new TimeSeriesBuffer(maxEntries)));
+        buffer.add(timestamp, state);
     }
 
-    @SuppressWarnings({ "rawType", "unchecked" })
-    private boolean applies(PersistEntry entry, FilterCriteria filter) {
+    private long beginMicros(FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null && entry.timestamp().isBefore(beginDate)) {
-            return false;
+        if (beginDate == null) {
+            return Long.MIN_VALUE;
         }
+        // round up, entries are stored with microsecond precision
+        Instant begin = beginDate.toInstant();
+        return TimeSeriesBuffer.toMicros(begin) + (begin.getNano() % 1_000 == 0 ? 0 : 1);
+    }
+
+    private long endMicros(FilterCriteria filter) {
         ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null && entry.timestamp().isAfter(endDate)) {
-            return false;
-        }
+        return endDate == null ? Long.MAX_VALUE : TimeSeriesBuffer.toMicros(endDate.toInstant());
+    }
 
+    @SuppressWarnings({ "rawType", "unchecked" })
+    private boolean applies(State state, FilterCriteria filter) {
         State refState = filter.getState();
         FilterCriteria.Operator operator = filter.getOperator();
         if (refState == null) {
@@ -282,14 +271,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
 
         if (operator == FilterCriteria.Operator.EQ) {
-            return entry.state().equals(refState);
+            return state.equals(refState);
         }
 
         if (operator == FilterCriteria.Operator.NEQ) {
-            return !entry.state().equals(refState);
+            return !state.equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (state instanceof Comparable comparableState && state.getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -307,10 +296,4 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         }
         return true;
     }
-
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    };
-
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
-    };
 }
@@ -0,0 +1,372 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link TimeSeriesBuffer} holds the persisted states of an item ordered by time.
+ *
+ * Timestamps (in microseconds) and numeric values are kept in primitive arrays used as a ring buffer, other states
+ * are kept in a side table which is only allocated when needed. When the maximum number of entries is reached, the
+ * oldest entry is overwritten. Readers don't lock unless a write happens concurrently.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class TimeSeriesBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] times = new long[0];
+    private double[] values = new double[0];
+    // states which can't be stored as a value, null for numeric entries
+    private @Nullable State @Nullable [] states;
+    // unit of all numeric entries, null if they are DecimalTypes
+    private @Nullable Unit<?> unit;
+    private int head;
+    private int size;
+    private long maxEntries;
+
+    /**
+     * A copy of consecutive entries, ordered by time.
+     */
+    record Snapshot(long[] times, double[] values, @Nullable State @Nullable [] states, @Nullable Unit<?> unit) {
+
+        int size() {
+            return times.length;
+        }
+
+        ZonedDateTime getTimestamp(int index) {
+            return toZonedDateTime(times[index]);
+        }
+
+        State getState(int index) {
+            State @Nullable [] states = this.states;
+            return toState(values[index], states != null ? states[index] : null, unit);
+        }
+    }
+
+    /**
+     * Number of entries and the timestamps of the oldest and the latest one.
+     */
+    record Info(int count, ZonedDateTime earliest, ZonedDateTime latest) {
+    }
+
+    /**
+     * @param maxEntries the maximum number of entries, 0 for no limit
+     */
+    TimeSeriesBuffer(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Adds a state. If there is already an entry with the same timestamp, the state is ignored.
+     */
+    void add(ZonedDateTime timestamp, State state) {
+        long time = toMicros(timestamp.toInstant());
+        long stamp = lock.writeLock();
+        try {
+            if (size == 0) {
+                // the first state decides which unit numeric values are stored with
+                unit = state instanceof QuantityType<?> quantity ? quantity.getUnit() : null;
+            }
+            int index = insertionIndex(time);
+            if (index < size && times[physical(index)] == time) {
+                return;
+            }
+            if (maxEntries > 0 && size >= maxEntries) {
+                if (index == 0) {
+                    // older than all entries, it would be evicted right away
+                    return;
+                }
+                // evict the oldest entry
+                head = physical(1);
+                size--;
+                index--;
+            }
+            ensureCapacity(size + 1);
+            // shift newer entries to make room, in the common case of a new latest state nothing is moved
+            for (int i = size; i > index; i--) {
+                copy(physical(i - 1), physical(i));
+            }
+            size++;
+            set(physical(index), time, state);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the entries between two timestamps (inclusive) which match a predicate.
+     *
+     * @return the number of removed entries
+     */
+    int remove(long beginMicros, long endMicros, Predicate<State> predicate) {
+        long stamp = lock.writeLock();
+        try {
+            int from = insertionIndex(beginMicros);
+            int to = insertionIndex(endMicros == Long.MAX_VALUE ? endMicros : endMicros + 1);
+            int target = from;
+            for (int i = from; i < size; i++) {
+                if (i >= to || !predicate.test(getState(physical(i)))) {
+                    if (target != i) {
+                        copy(physical(i), physical(target));
+                    }
+                    target++;
+                }
+            }
+            int removed = size - target;
+            for (int i = target; i < size; i++) {
+                clearState(physical(i));
+            }
+            size = target;
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries, evicting the oldest entries if necessary.
+     */
+    void setMaxEntries(long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            this.maxEntries = maxEntries;
+            if (maxEntries > 0 && size > maxEntries) {
+                int evict = size - (int) maxEntries;
+                for (int i = 0; i < evict; i++) {
+                    clearState(physical(i));
+                }
+                head = physical(evict);
+                size -= evict;
+                resize(size);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the entries between two timestamps (inclusive).
+     */
+    Snapshot snapshot(long beginMicros, long endMicros) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Snapshot snapshot = copy(beginMicros, endMicros);
+                if (lock.validate(stamp)) {
+                    return snapshot;
+                }
+            } catch (RuntimeException e) {
+                // inconsistent state read during a concurrent write, retry with lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return copy(beginMicros, endMicros);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the info or null if the buffer is empty
+     */
+    @Nullable
+    Info info() {
+        long stamp = lock.readLock();
+        try {
+            if (size == 0) {
+                return null;
+            }
+            return new Info(size, toZonedDateTime(times[physical(0)]), toZonedDateTime(times[physical(size - 1)]));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Snapshot copy(long beginMicros, long endMicros) {
+        int from = insertionIndex(beginMicros);
+        int to = endMicros == Long.MAX_VALUE ? size : insertionIndex(endMicros + 1);
+        return copyRange(from, Math.max(from, to));
+    }
+
+    private Snapshot copyRange(int from, int to) {
+        long[] times = this.times;
+        double[] values = this.values;
+        State @Nullable [] states = this.states;
+        int length = to - from;
+        if (length > times.length || values.length != times.length
+                || (states != null && states.length != times.length)) {
+            throw new IllegalStateException("concurrent modification");
+        }
+        long[] timesCopy = new long[length];
+        double[] valuesCopy = new double[length];
+        State @Nullable [] statesCopy = states != null ? new State[length] : null;
+        int start = (head + from) % Math.max(1, times.length);
+        int firstPart = Math.min(length, times.length - start);
+        System.arraycopy(times, start, timesCopy, 0, firstPart);
+        System.arraycopy(times, 0, timesCopy, firstPart, length - firstPart);
+        System.arraycopy(values, start, valuesCopy, 0, firstPart);
+        System.arraycopy(values, 0, valuesCopy, firstPart, length - firstPart);
+        if (states != null && statesCopy != null) {
+            System.arraycopy(states, start, statesCopy, 0, firstPart);
+            System.arraycopy(states, 0, statesCopy, firstPart, length - firstPart);
+        }
+        return new Snapshot(timesCopy, valuesCopy, statesCopy, unit);
+    }
+
+    /**
+     * @return the logical index of the first entry not older than the given time
+     */
+    private int insertionIndex(long time) {
+        int low = 0;
+        int high = size;
+        if (size > 0 && times[physical(size - 1)] < time) {
+            // fast path for appending
+            return size;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[physical(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int physical(int index) {
+        return (head + index) % times.length;
+    }
+
+    private void set(int physical, long time, State state) {
+        times[physical] = time;
+        Double value = numericValue(state);
+        if (value != null) {
+            values[physical] = value;
+            clearState(physical);
+        } else {
+            values[physical] = 0;
+            State[] states = this.states;
+            if (states == null) {
+                states = new State[times.length];
+                this.states = states;
+            }
+            states[physical] = state;
+        }
+    }
+
+    private State getState(int physical) {
+        State @Nullable [] states = this.states;
+        return toState(values[physical], states != null ? states[physical] : null, unit);
+    }
+
+    private static State toState(double value, @Nullable State state, @Nullable Unit<?> unit) {
+        if (state != null) {
+            return state;
+        }
+        BigDecimal decimal = toDecimal(value);
+        return unit != null ? new QuantityType<>(decimal, unit) : new DecimalType(decimal);
+    }
+
+    private static BigDecimal toDecimal(double value) {
+        BigDecimal decimal = BigDecimal.valueOf(value).stripTrailingZeros();
+        return decimal.scale() < 0 ? decimal.setScale(0) : decimal;
+    }
+
+    private void copy(int from, int to) {
+        times[to] = times[from];
+        values[to] = values[from];
+        State @Nullable [] states = this.states;
+        if (states != null) {
+            states[to] = states[from];
+        }
+    }
+
+    private void clearState(int physical) {
+        State @Nullable [] states = this.states;
+        if (states != null) {
+            states[physical] = null;
+        }
+    }
+
+    /**
+     * @return the state as value if it can be restored from it without loss (including the scale), null otherwise
+     */
+    private @Nullable Double numericValue(State state) {
+        BigDecimal decimal;
+        if (state.getClass() == DecimalType.class) {
+            if (unit != null) {
+                return null;
+            }
+            decimal = ((DecimalType) state).toBigDecimal();
+        } else if (state instanceof QuantityType<?> quantity && quantity.getUnit().equals(unit)) {
+            decimal = quantity.toBigDecimal();
+        } else {
+            return null;
+        }
+        double value = decimal.doubleValue();
+        return Double.isFinite(value) && toDecimal(value).equals(decimal) ? value : null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > times.length) {
+            long limit = maxEntries > 0 ? maxEntries : Integer.MAX_VALUE - 8;
+            resize((int) Math.min(limit, Math.max(INITIAL_CAPACITY, (long) times.length * 2)));
+        }
+    }
+
+    /**
+     * Moves the entries into new arrays, starting at index 0.
+     */
+    private void resize(int capacity) {
+        Snapshot snapshot = copyRange(0, size);
+        long[] newTimes = Arrays.copyOf(snapshot.times(), capacity);
+        double[] newValues = Arrays.copyOf(snapshot.values(), capacity);
+        State @Nullable [] snapshotStates = snapshot.states();
+        State @Nullable [] newStates = snapshotStates != null ? Arrays.copyOf(snapshotStates, capacity) : null;
+        times = newTimes;
+        values = newValues;
+        states = newStates;
+        head = 0;
+    }
+
+    static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    static ZonedDateTime toZonedDateTime(long micros) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                Math.floorMod(micros, 1_000_000L) * 1_000L);
+        return ZonedDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -21,7 +21,10 @@ import static org.mockito.Mockito.when;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -38,6 +41,7 @@ import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 
@@ -180,4 +184,39 @@ public class InMemoryPersistenceTests {
         assertThat(storedStates.last().getState(), is(historicState3));
         assertThat(storedStates.last().getTimestamp(), is(expectedTime.plusHours(4)));
     }
+
+    @Test
+    public void queryHonorsOrderingAndPaging() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 5; i++) {
+            service.store(item, time.plusMinutes(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(Ordering.DESCENDING);
+        filterCriteria.setPageSize(2);
+        filterCriteria.setPageNumber(1);
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(2));
+        assertThat(storedStates.get(0).getState(), is(new DecimalType(2)));
+        assertThat(storedStates.get(1).getState(), is(new DecimalType(1)));
+    }
+
+    @Test
+    public void maxEntriesRemovesOldestValues() {
+        service.activate(Map.of("maxEntries", 2L));
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, time.plusHours(1), new DecimalType(1));
+        service.store(item, time, new StringType("oldest"));
+        service.store(item, time.plusHours(2), new DecimalType(2));
+
+        filterCriteria.setOrdering(Ordering.ASCENDING);
+        List<HistoricItem> storedStates = new ArrayList<>();
+        service.query(filterCriteria).forEach(storedStates::add);
+
+        assertThat(storedStates, hasSize(2));
+        assertThat(storedStates.get(0).getTimestamp(), is(time.plusHours(1)));
+        assertThat(storedStates.get(1).getState(), is(new DecimalType(2)));
+    }
 }
@@ -62,6 +62,11 @@ public class JdbcConfiguration {
     private String tableNamePrefix = "item";
     private int tableIdDigitCount = 4;
     private boolean rebuildTableNames = false;
+    private boolean writeBehind = false;
+    private int writeBatchSize = 100;
+    private int writeBatchMaxLatency = 1000;
+    private int writeBufferSize = 10000;
+    private int queryFetchSize = 0;
 
     private int errReconnectThreshold = 0;
 
@@ -189,6 +194,38 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wb = (String) configuration.get("writeBehind");
+        if (wb != null && !wb.isBlank()) {
+            writeBehind = Boolean.parseBoolean(wb);
+            logger.debug("JDBC::updateConfig: writeBehind={}", writeBehind);
+        }
+
+        String bs = (String) configuration.get("writeBatchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            writeBatchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: writeBatchSize={}", writeBatchSize);
+        }
+
+        String bl = (String) configuration.get("writeBatchMaxLatency");
+        if (bl != null && !bl.isBlank() && isNumericPattern.matcher(bl).matches()) {
+            writeBatchMaxLatency = Math.max(10, Integer.parseInt(bl));
+            logger.debug("JDBC::updateConfig: writeBatchMaxLatency={}", writeBatchMaxLatency);
+        }
+
+        String bb = (String) configuration.get("writeBufferSize");
+        if (bb != null && !bb.isBlank() && isNumericPattern.matcher(bb).matches()) {
+            writeBufferSize = Integer.parseInt(bb);
+        }
+        // the buffer must be able to hold at least one batch
+        writeBufferSize = Math.max(writeBufferSize, writeBatchSize);
+        logger.debug("JDBC::updateConfig: writeBufferSize={}", writeBufferSize);
+
+        String fs = (String) configuration.get("queryFetchSize");
+        if (fs != null && !fs.isBlank() && isNumericPattern.matcher(fs).matches()) {
+            queryFetchSize = Integer.parseInt(fs);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -373,6 +410,26 @@ public class JdbcConfiguration {
         return rebuildTableNames;
     }
 
+    public boolean getWriteBehind() {
+        return writeBehind;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getWriteBatchMaxLatency() {
+        return writeBatchMaxLatency;
+    }
+
+    public int getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public int getNumberDecimalcount() {
         return numberDecimalcount;
     }
@@ -13,6 +13,7 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,9 +33,12 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregateFunction;
+import org.openhab.persistence.jdbc.internal.dto.BufferedItemValue;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcAggregate;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -225,6 +229,15 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<BufferedItemValue> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, values.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableName, values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -242,6 +255,42 @@ public class JdbcMapper {
         return result;
     }
 
+    protected List<HistoricItem> cursorHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int fetchSize) throws JdbcSQLException {
+        logger.debug("JDBC::cursorHistItemFilterQuery numberDecimalcount='{}' table='{}' itemName='{}' fetchSize='{}'",
+                numberDecimalcount, table, item.getName(), fetchSize);
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doCursorHistItemFilterQuery(item, filter, numberDecimalcount,
+                table, item.getName(), timeZoneProvider.getTimeZone(), fetchSize);
+        logTime("cursorHistItemFilterQuery", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
+    protected @Nullable Double getItemValueAggregate(Item item, FilterCriteria filter, String table,
+            AggregateFunction function) throws JdbcSQLException {
+        logger.debug("JDBC::getItemValueAggregate function='{}' table='{}' itemName='{}'", function, table,
+                filter.getItemName());
+        long timerStart = System.currentTimeMillis();
+        Double result = conf.getDBDAO().doGetItemValueAggregate(item, filter, table, function,
+                timeZoneProvider.getTimeZone());
+        logTime("getItemValueAggregate", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
+    protected List<JdbcAggregate> getItemValueAggregates(Item item, FilterCriteria filter, String table,
+            AggregateFunction function, Duration interval) throws JdbcSQLException {
+        logger.debug("JDBC::getItemValueAggregates function='{}' interval='{}' table='{}' itemName='{}'", function,
+                interval, table, filter.getItemName());
+        long timerStart = System.currentTimeMillis();
+        List<JdbcAggregate> result = conf.getDBDAO().doGetItemValueAggregates(item, filter, table, function,
+                interval.toSeconds(), timeZoneProvider.getTimeZone());
+        logTime("getItemValueAggregates", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,6 +25,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -44,8 +48,11 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregateFunction;
+import org.openhab.persistence.jdbc.internal.dto.BufferedItemValue;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcAggregate;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -77,6 +84,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private volatile @Nullable WriteBehindBuffer writeBuffer;
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -121,6 +131,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopWriteBehind();
         initialized = false;
     }
 
@@ -137,24 +148,38 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        scheduleStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        scheduleStore(item, null, item.getState());
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state) {
+        WriteBehindBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null && !(state instanceof UnDefType)) {
+            if (writeBuffer.offer(new BufferedItemValue(item, state, date != null ? date : ZonedDateTime.now()))) {
+                if (writeBuffer.isFlushDue()) {
+                    scheduler.execute(this::flushWriteBuffer);
+                }
+                return;
+            }
+            logger.debug("JDBC::store: write buffer is full, storing item '{}' directly", item.getName());
+        }
+        scheduler.execute(() -> internalStore(item, date, state));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -181,6 +206,118 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private synchronized void flushWriteBuffer() {
+        WriteBehindBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            return;
+        }
+        while (!writeBuffer.isEmpty()) {
+            if (!checkDBAccessability()) {
+                logger.warn("JDBC::flush: No connection to database. Keeping {} buffered values for next attempt.",
+                        writeBuffer.size());
+                writeBuffer.recordFailedFlush();
+                return;
+            }
+            List<BufferedItemValue> batch = writeBuffer.drain();
+            long timerStart = System.currentTimeMillis();
+            List<BufferedItemValue> notStored = storeBatch(batch);
+            if (!notStored.isEmpty()) {
+                writeBuffer.requeue(notStored);
+                writeBuffer.recordFailedFlush();
+                return;
+            }
+            long timerDiff = System.currentTimeMillis() - timerStart;
+            writeBuffer.recordFlush(batch.size(), timerDiff);
+            logger.debug("JDBC::flush: Stored {} buffered values in {} ms, {} values left", batch.size(), timerDiff,
+                    writeBuffer.size());
+        }
+    }
+
+    /**
+     * Stores a batch of buffered values, using one JDBC batch per item table.
+     *
+     * @return values which should be retried later because the database could not be reached
+     */
+    private List<BufferedItemValue> storeBatch(List<BufferedItemValue> batch) {
+        Map<String, List<BufferedItemValue>> valuesByItem = batch.stream().collect(
+                Collectors.groupingBy(value -> value.item().getName(), LinkedHashMap::new, Collectors.toList()));
+        List<BufferedItemValue> notStored = new ArrayList<>();
+        for (List<BufferedItemValue> values : valuesByItem.values()) {
+            if (!notStored.isEmpty()) {
+                notStored.addAll(values);
+                continue;
+            }
+            Item item = values.get(0).item();
+            try {
+                storeItemValues(item, values);
+            } catch (JdbcException e) {
+                logger.debug("JDBC::flush: Batch for item '{}' failed, storing values one by one", item.getName(), e);
+                if (!storeOneByOne(item, values)) {
+                    logger.warn("JDBC::flush: Unable to store values for item '{}', will retry: {}", item.getName(),
+                            e.getMessage());
+                    errCnt++;
+                    notStored.addAll(values);
+                }
+            }
+        }
+        return notStored;
+    }
+
+    /**
+     * Stores values individually after a failed batch, so a single invalid value does not block the buffer.
+     *
+     * @return false if not even the first value could be stored, which indicates a database problem
+     */
+    private boolean storeOneByOne(Item item, List<BufferedItemValue> values) {
+        for (int i = 0; i < values.size(); i++) {
+            BufferedItemValue value = values.get(i);
+            try {
+                storeItemValue(item, value.state(), value.date());
+            } catch (JdbcException e) {
+                if (i == 0) {
+                    return false;
+                }
+                logger.warn("JDBC::flush: Unable to store state '{}' for item '{}', dropping it", value.state(),
+                        item.getName(), e);
+            }
+        }
+        return true;
+    }
+
+    private void startWriteBehind() {
+        WriteBehindBuffer writeBuffer = new WriteBehindBuffer(conf.getWriteBufferSize(), conf.getWriteBatchSize());
+        this.writeBuffer = writeBuffer;
+        long latency = conf.getWriteBatchMaxLatency();
+        flushJob = scheduler.scheduleWithFixedDelay(this::flushWriteBuffer, latency, latency, TimeUnit.MILLISECONDS);
+        logger.debug("JDBC::startWriteBehind: buffer size={}, batch size={}, max latency={} ms",
+                writeBuffer.getCapacity(), writeBuffer.getBatchSize(), latency);
+    }
+
+    private void stopWriteBehind() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        WriteBehindBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            flushWriteBuffer();
+            if (!writeBuffer.isEmpty()) {
+                logger.warn("JDBC::stopWriteBehind: {} buffered values could not be stored", writeBuffer.size());
+            }
+            this.writeBuffer = null;
+        }
+    }
+
+    /**
+     * Get the write-behind buffer.
+     *
+     * @return buffer or null if write-behind is disabled
+     */
+    public @Nullable WriteBehindBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -239,7 +376,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            int fetchSize = conf.getQueryFetchSize();
+            // unbounded queries are read through a cursor, which maps the rows as they are fetched
+            List<HistoricItem> items = fetchSize > 0 && filter.getPageSize() == Integer.MAX_VALUE
+                    ? cursorHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item, fetchSize)
+                    : getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -253,9 +394,86 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Computes an aggregate of the values matching the filter within the database, without loading the
+     * values. Ordering and paging of the filter are ignored.
+     *
+     * @param filter the filter to apply, an item name is required
+     * @param function the aggregate function to compute
+     * @return the aggregated value or null if there are no matching values or the query failed
+     * @throws IllegalArgumentException if the item name is missing or the function cannot be computed over the
+     *             values of the item, e.g. the average of a String item
+     */
+    public @Nullable Double aggregate(FilterCriteria filter, AggregateFunction function)
+            throws IllegalArgumentException {
+        Item item = getAggregateItem(filter);
+        String table = item != null ? itemNameToTableNameMap.get(item.getName()) : null;
+        if (item == null || table == null) {
+            return null;
+        }
+        try {
+            return getItemValueAggregate(item, filter, table, function);
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::aggregate: Unable to aggregate item values", e);
+            return null;
+        }
+    }
+
+    /**
+     * Computes an aggregate of the values matching the filter for each time bucket of the given interval within the
+     * database. Buckets are aligned to the epoch and ordered according to the filter, empty buckets are omitted.
+     *
+     * @param filter the filter to apply, an item name is required
+     * @param function the aggregate function to compute
+     * @param interval the length of the time buckets, at least one second
+     * @return the aggregated values or an empty list if the query failed
+     * @throws IllegalArgumentException if the item name is missing, the interval is too short or the function cannot
+     *             be computed over the values of the item
+     */
+    public List<JdbcAggregate> aggregate(FilterCriteria filter, AggregateFunction function, Duration interval)
+            throws IllegalArgumentException {
+        if (interval.toSeconds() < 1) {
+            throw new IllegalArgumentException("Interval must be at least one second");
+        }
+        Item item = getAggregateItem(filter);
+        String table = item != null ? itemNameToTableNameMap.get(item.getName()) : null;
+        if (item == null || table == null) {
+            return List.of();
+        }
+        try {
+            return getItemValueAggregates(item, filter, table, function, interval);
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::aggregate: Unable to aggregate item values", e);
+            return List.of();
+        }
+    }
+
+    private @Nullable Item getAggregateItem(FilterCriteria filter) throws IllegalArgumentException {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            throw new IllegalArgumentException("Item name must not be null");
+        }
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::aggregate: database not connected, query aborted for item '{}'", itemName);
+            return null;
+        }
+        if (!itemNameToTableNameMap.containsKey(itemName)) {
+            logger.debug("JDBC::aggregate: unable to find table for item with name: '{}', no data in database.",
+                    itemName);
+            return null;
+        }
+        try {
+            return itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e) {
+            logger.debug("JDBC::aggregate: unable to get item for itemName: '{}'.", itemName);
+            return null;
+        }
+    }
+
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBehind();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -270,6 +488,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } else {
             initialized = false;
         }
+        if (conf.valid && conf.getWriteBehind()) {
+            startWriteBehind();
+        }
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
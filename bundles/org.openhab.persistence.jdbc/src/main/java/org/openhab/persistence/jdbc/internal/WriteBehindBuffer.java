@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.persistence.jdbc.internal.dto.BufferedItemValue;
+import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
+
+/**
+ * Bounded buffer holding item values until they are written to the database in batches.
+ *
+ * Values which could not be written are put back in front of the queue, so they are retried with the
+ * next flush once the database is reachable again.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindBuffer {
+
+    private final LinkedBlockingDeque<BufferedItemValue> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final MovingAverage flushTimeAverage = new MovingAverage(100);
+    private volatile long lastFlushTime = 0;
+
+    public WriteBehindBuffer(int capacity, int batchSize) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingDeque<>(capacity);
+    }
+
+    /**
+     * Adds a value to the buffer.
+     *
+     * @param value value to queue
+     * @return false if the buffer is full and the value was not queued
+     */
+    public boolean offer(BufferedItemValue value) {
+        if (queue.offerLast(value)) {
+            return true;
+        }
+        overflowCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Checks if a full batch is waiting and no flush has been requested yet. Only the first caller
+     * receives true until {@link #drain()} is called again.
+     */
+    public boolean isFlushDue() {
+        return queue.size() >= batchSize && flushRequested.compareAndSet(false, true);
+    }
+
+    /**
+     * Removes up to one batch of values from the head of the buffer.
+     */
+    public List<BufferedItemValue> drain() {
+        flushRequested.set(false);
+        List<BufferedItemValue> values = new ArrayList<>(Math.min(batchSize, queue.size()));
+        queue.drainTo(values, batchSize);
+        return values;
+    }
+
+    /**
+     * Puts values which could not be written back in front of the buffer, keeping their order.
+     * If the buffer has been filled up in the meantime, the oldest values are dropped.
+     */
+    public void requeue(List<BufferedItemValue> values) {
+        ListIterator<BufferedItemValue> iterator = values.listIterator(values.size());
+        while (iterator.hasPrevious()) {
+            if (!queue.offerFirst(iterator.previous())) {
+                droppedCount.addAndGet(iterator.nextIndex() + 1);
+                break;
+            }
+        }
+    }
+
+    public void recordFlush(int count, long millis) {
+        storedCount.addAndGet(count);
+        flushCount.incrementAndGet();
+        lastFlushTime = millis;
+        synchronized (flushTimeAverage) {
+            flushTimeAverage.add(millis);
+        }
+    }
+
+    public void recordFailedFlush() {
+        failedFlushCount.incrementAndGet();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    public double getAverageFlushTime() {
+        synchronized (flushTimeAverage) {
+            return flushTimeAverage.getAverageDouble();
+        }
+    }
+}
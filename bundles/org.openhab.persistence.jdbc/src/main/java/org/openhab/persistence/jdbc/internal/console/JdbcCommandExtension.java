@@ -12,12 +12,17 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,12 +33,17 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.WriteBehindBuffer;
+import org.openhab.persistence.jdbc.internal.dto.AggregateFunction;
+import org.openhab.persistence.jdbc.internal.dto.JdbcAggregate;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,18 +61,23 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_BUFFER = "buffer";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
     private static final String SUBCMD_TABLES_CLEAN = "clean";
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+)([smhd])");
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_BUFFER, CMD_AGGREGATE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_TABLES_LIST, SUBCMD_TABLES_CLEAN), false);
+    private static final StringsCompleter AGGREGATE_FUNCTION_COMPLETER = new StringsCompleter(
+            Stream.of(AggregateFunction.values()).map(f -> f.name().toLowerCase(Locale.ROOT)).toList(), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
 
@@ -74,7 +89,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
 
     @Override
     public void execute(String[] args, Console console) {
-        if (args.length < 1 || args.length > 4) {
+        if (args.length < 1 || args.length > 5) {
             printUsage(console);
             return;
         }
@@ -135,6 +150,11 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_BUFFER.equalsIgnoreCase(args[0])) {
+            showBuffer(persistenceService, console);
+            return true;
+        } else if (args.length >= 3 && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            return aggregate(persistenceService, console, args);
         }
         return false;
     }
@@ -252,6 +272,78 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void showBuffer(JdbcPersistenceService persistenceService, Console console) {
+        WriteBehindBuffer writeBuffer = persistenceService.getWriteBuffer();
+        if (writeBuffer == null) {
+            console.println("Write-behind is disabled.");
+            return;
+        }
+        console.println("Queued values:      " + writeBuffer.size() + " / " + writeBuffer.getCapacity());
+        console.println("Batch size:         " + writeBuffer.getBatchSize());
+        console.println("Stored values:      " + writeBuffer.getStoredCount());
+        console.println("Flushes:            " + writeBuffer.getFlushCount());
+        console.println("Failed flushes:     " + writeBuffer.getFailedFlushCount());
+        console.println("Overflows:          " + writeBuffer.getOverflowCount());
+        console.println("Dropped values:     " + writeBuffer.getDroppedCount());
+        console.println("Last flush time:    " + writeBuffer.getLastFlushTime() + " ms");
+        console.println("Average flush time: " + writeBuffer.getAverageFlushTime() + " ms");
+    }
+
+    private boolean aggregate(JdbcPersistenceService persistenceService, Console console, String[] args) {
+        AggregateFunction function;
+        try {
+            function = AggregateFunction.valueOf(args[2].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        Duration period = args.length > 3 ? parseDuration(args[3]) : null;
+        Duration interval = args.length > 4 ? parseDuration(args[4]) : null;
+        if ((args.length > 3 && period == null) || (args.length > 4 && interval == null)) {
+            return false;
+        }
+
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(args[1]);
+        filter.setOrdering(Ordering.ASCENDING);
+        if (period != null) {
+            filter.setBeginDate(ZonedDateTime.now().minus(period));
+        }
+        try {
+            if (interval == null) {
+                Double value = persistenceService.aggregate(filter, function);
+                console.println(value != null ? value.toString() : "No values found.");
+            } else {
+                List<JdbcAggregate> values = persistenceService.aggregate(filter, function, interval);
+                if (values.isEmpty()) {
+                    console.println("No values found.");
+                }
+                for (JdbcAggregate value : values) {
+                    console.println(value.time() + "  " + value.value());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            console.println(e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Parses a duration like 30s, 15m, 24h or 7d.
+     */
+    private @Nullable Duration parseDuration(String text) {
+        Matcher matcher = DURATION_PATTERN.matcher(text);
+        if (!matcher.matches()) {
+            return null;
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +353,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_BUFFER, "show write-behind buffer statistics"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <avg|sum|min|max|count> [<period> [<interval>]]",
+                        "aggregate values of the last period (e.g. 7d), per interval (e.g. 1h) if given"));
     }
 
     @Override
@@ -278,6 +373,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
             }
         } else if (cursorArgumentIndex == 2) {
             if (CMD_TABLES.equalsIgnoreCase(args[0])) {
@@ -291,6 +392,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                     new StringsCompleter(List.of(PARAMETER_ALL), false).complete(args, cursorArgumentIndex,
                             cursorPosition, candidates);
                 }
+            } else if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                return AGGREGATE_FUNCTION_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 if (SUBCMD_SCHEMA_FIX.equalsIgnoreCase(args[1])) {
                     JdbcPersistenceService persistenceService = getPersistenceService();
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Reads a query result through a forward-only cursor, mapping each row to a {@link HistoricItem} as it is fetched.
+ *
+ * Unlike {@link org.knowm.yank.Yank#queryObjectArrays(String, Object...)}, the rows are not collected as object arrays
+ * first, so only one list is held in memory. The connection is returned to the pool before {@link #read} returns,
+ * also when reading fails.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+final class CursorQuery {
+
+    private CursorQuery() {
+    }
+
+    /**
+     * Runs the query and reads all rows.
+     *
+     * @param dataSource the pool to borrow the connection from
+     * @param sql the query, selecting the time and the value
+     * @param params the query parameters
+     * @param fetchSize number of rows the driver should fetch per round trip
+     * @param rowMapper maps the time and value of a row to a {@link HistoricItem}
+     * @return the items
+     * @throws SQLException if the query or reading a row failed
+     */
+    static List<HistoricItem> read(DataSource dataSource, String sql, Object[] params, int fetchSize,
+            Function<Object[], HistoricItem> rowMapper) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            // some drivers (e.g. PostgreSQL) only use a cursor within a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
+                }
+                List<HistoricItem> items = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        items.add(rowMapper.apply(new Object[] { resultSet.getObject(1), resultSet.getObject(2) }));
+                    }
+                }
+                return items;
+            } finally {
+                // nothing has been written, end the read-only transaction before the connection goes back to the pool
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
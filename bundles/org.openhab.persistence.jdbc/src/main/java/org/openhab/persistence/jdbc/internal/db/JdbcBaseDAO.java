@@ -13,17 +13,22 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -56,9 +61,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.dto.AggregateFunction;
+import org.openhab.persistence.jdbc.internal.dto.BufferedItemValue;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcAggregate;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
@@ -73,12 +81,17 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class JdbcBaseDAO {
+    // item types whose values are stored in numeric columns
+    private static final Set<String> NUMERIC_ITEM_TYPES = Set.of("NUMBERITEM", "DIMMERITEM", "ROLLERSHUTTERITEM");
+
     private final Logger logger = LoggerFactory.getLogger(JdbcBaseDAO.class);
 
     public final Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
 
+    private final Map<QueryShape, String> histItemFilterQueryCache = new ConcurrentHashMap<>();
+
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
 
@@ -444,10 +457,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+        String sql = storeItemValueWithTimeQueryProvider(storedVO);
         java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
+        Object[] params = storeItemValueWithTimeParamsProvider(storedVO, timestamp);
         logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -456,13 +468,44 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of one item table using a single JDBC batch.
+     *
+     * @param tableName table of the item all values belong to
+     * @param values values to store, each with its own timestamp
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<BufferedItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        Object[][] params = new Object[values.size()][];
+        String sql = "";
+        for (int i = 0; i < values.size(); i++) {
+            BufferedItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.item(), value.state(), new ItemVO(tableName, null));
+            if (i == 0) {
+                sql = storeItemValueWithTimeQueryProvider(storedVO);
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(value.date().toInstant().toEpochMilli());
+            params[i] = storeItemValueWithTimeParamsProvider(storedVO, timestamp);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} count={}", sql, values.size());
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = getHistItemFilterQuery(filter, numberDecimalcount, table, name);
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -478,14 +521,91 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Same as {@link #doGetHistItemFilterQuery(Item, FilterCriteria, int, String, String, ZoneId)}, but the rows are
+     * read through a forward-only cursor and mapped one by one, instead of being loaded as object arrays first.
+     * The connection is released before this method returns.
+     *
+     * @param fetchSize number of rows the driver should fetch per round trip
+     */
+    public List<HistoricItem> doCursorHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, int fetchSize) throws JdbcSQLException {
+        String sql = getHistItemFilterQuery(filter, numberDecimalcount, table, name);
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doCursorHistItemFilterQuery sql={} params={} fetchSize={}", sql, params, fetchSize);
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        try {
+            return CursorQuery.read(Yank.getDefaultConnectionPool(), sql, params, streamingFetchSize(fetchSize),
+                    o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsZonedDateTime(o[0])));
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterDeleteProvider(filter, table, timeZone);
-        logger.debug("JDBC::doDeleteItemValues sql={}", sql);
+        String sql = histItemFilterDeleteProvider(filter, table);
+        Object[] params = resolveTimeFilterParams(filter, timeZone).toArray();
+        logger.debug("JDBC::doDeleteItemValues sql={} params={}", sql, params);
         try {
-            Yank.execute(sql, null);
+            Yank.execute(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /**
+     * Computes an aggregate over all values matching the time range of the filter within the database.
+     * Ordering and paging of the filter are ignored.
+     *
+     * @return the aggregated value or null if no value matches the filter
+     * @throws IllegalArgumentException if the function cannot be computed over the values of the item
+     */
+    public @Nullable Double doGetItemValueAggregate(Item item, FilterCriteria filter, String table,
+            AggregateFunction function, ZoneId timeZone) throws JdbcSQLException {
+        checkAggregatable(item, function);
+        String sql = histItemAggregateQueryProvider(filter, table, function);
+        Object[] params = resolveTimeFilterParams(filter, timeZone).toArray();
+        logger.debug("JDBC::doGetItemValueAggregate sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null || m.isEmpty() || m.get(0)[0] == null) {
+            return null;
+        }
+        return objectAsDouble(m.get(0)[0]);
+    }
+
+    /**
+     * Computes an aggregate for each time bucket of the given length within the database. Buckets are aligned to the
+     * epoch and only returned if they contain values. Paging of the filter is ignored.
+     *
+     * @param bucketSeconds length of the time buckets in seconds
+     * @throws IllegalArgumentException if the function cannot be computed over the values of the item
+     */
+    public List<JdbcAggregate> doGetItemValueAggregates(Item item, FilterCriteria filter, String table,
+            AggregateFunction function, long bucketSeconds, ZoneId timeZone) throws JdbcSQLException {
+        checkAggregatable(item, function);
+        String sql = histItemBucketQueryProvider(filter, table, function, bucketSeconds);
+        Object[] params = resolveTimeFilterParams(filter, timeZone).toArray();
+        logger.debug("JDBC::doGetItemValueAggregates sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
+        if (m == null) {
+            logger.debug("JDBC::doGetItemValueAggregates Query failed. Returning an empty list.");
+            return List.of();
+        }
+        return m.stream().filter(o -> o[1] != null)
+                .map(o -> new JdbcAggregate(objectAsZonedDateTime(o[0]), objectAsDouble(o[1])))
+                .collect(Collectors.<JdbcAggregate> toList());
     }
 
     public long doGetRowCount(String tableName) throws JdbcSQLException {
@@ -505,16 +625,32 @@ public class JdbcBaseDAO {
      *************/
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * Gets the query for the given filter from the cache, or creates it using
+     * {@link #histItemFilterQueryProvider(FilterCriteria, int, String, String)}.
+     *
+     * Time filters and paging are bound as parameters, so the query only depends on the shape of the filter. Keeping
+     * the SQL text stable also allows the JDBC driver to reuse its prepared statements.
+     */
+    protected String getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName) {
+        QueryShape shape = new QueryShape(table, simpleName, numberDecimalcount, filter.getOrdering(),
+                filter.getBeginDate() != null, filter.getEndDate() != null,
+                filter.getPageSize() != Integer.MAX_VALUE);
+        return histItemFilterQueryCache.computeIfAbsent(shape,
+                s -> histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName));
+    }
+
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
-            filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
+            filterString += " LIMIT ?,?";
         }
         // SELECT time, ROUND(value,3) FROM number_item_0114 ORDER BY time DESC LIMIT 0,1
         // rounding HALF UP
@@ -528,29 +664,124 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
-    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
+    /**
+     * Provides the parameters matching {@link #histItemFilterQueryProvider(FilterCriteria, int, String, String)}.
+     */
+    protected Object[] histItemFilterQueryParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = resolveTimeFilterParams(filter, timeZone);
+        if (filter.getPageSize() != Integer.MAX_VALUE) {
+            params.add(filter.getPageNumber() * filter.getPageSize());
+            params.add(filter.getPageSize());
+        }
+        return params.toArray();
+    }
+
+    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         String deleteString = filterString.isEmpty() ? "TRUNCATE TABLE " + table
                 : "DELETE FROM " + table + filterString;
         logger.debug("JDBC::delete deleteString = {}", deleteString);
         return deleteString;
     }
 
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+    /**
+     * Checks that the function can be computed over the values of the item. Apart from counting, this needs values
+     * that are stored in a numeric column.
+     *
+     * @throws IllegalArgumentException if the values of the item are not numeric
+     */
+    protected void checkAggregatable(Item item, AggregateFunction function) {
+        String itemType = getItemType(item);
+        if (function != AggregateFunction.COUNT && !NUMERIC_ITEM_TYPES.contains(itemType)) {
+            throw new IllegalArgumentException(
+                    "Cannot compute " + function + " of item '" + item.getName() + "' with type " + itemType);
+        }
+    }
+
+    protected String histItemAggregateQueryProvider(FilterCriteria filter, String table,
+            AggregateFunction function) {
+        String queryString = "SELECT " + function.name() + "(value) FROM " + table + resolveTimeFilter(filter);
+        logger.debug("JDBC::aggregate queryString = {}", queryString);
+        return queryString;
+    }
+
+    protected String histItemBucketQueryProvider(FilterCriteria filter, String table, AggregateFunction function,
+            long bucketSeconds) {
+        String bucket = timeBucketProvider(bucketSeconds);
+        String queryString = "SELECT " + bucket + ", " + function.name() + "(value) FROM " + table
+                + resolveTimeFilter(filter) + " GROUP BY " + bucket + " ORDER BY " + bucket
+                + ((filter.getOrdering() == Ordering.ASCENDING) ? " ASC" : " DESC");
+        logger.debug("JDBC::aggregate queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides an expression truncating the time column to the start of its time bucket.
+     */
+    protected String timeBucketProvider(long bucketSeconds) {
+        return "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    protected String resolveTimeFilter(FilterCriteria filter) {
         String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>=?";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=?";
+        }
+        return filterString;
+    }
+
+    /**
+     * Provides the parameters matching {@link #resolveTimeFilter(FilterCriteria)}.
+     */
+    protected List<Object> resolveTimeFilterParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(4);
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(beginDate, timeZone));
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParam(endDate, timeZone));
         }
-        return filterString;
+        return params;
+    }
+
+    /**
+     * Converts a filter date to a statement parameter. The local date and time in the given time zone is used with
+     * second precision, matching the values previously inlined as {@link #JDBC_DATE_FORMAT} literals.
+     */
+    protected Object timeFilterParam(ZonedDateTime date, ZoneId timeZone) {
+        return java.sql.Timestamp
+                .valueOf(date.withZoneSameInstant(timeZone).toLocalDateTime().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Provides the fetch size set on cursor queries for the configured number of rows per round trip.
+     */
+    protected int streamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    /**
+     * Provides the insert statement for a value with an explicit timestamp, bound as the first parameter.
+     */
+    protected String storeItemValueWithTimeQueryProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    /**
+     * Provides the parameters matching {@link #storeItemValueWithTimeQueryProvider(ItemVO)}.
+     */
+    protected Object[] storeItemValueWithTimeParamsProvider(ItemVO storedVO, java.sql.Timestamp timestamp) {
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
     }
 
     private String updateItemTableNamesProvider(ItemVO itemTable) {
@@ -657,6 +888,14 @@ public class JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+
+    /**
+     * Everything a history query depends on, apart from the bound parameters.
+     */
+    private record QueryShape(String table, String simpleName, int numberDecimalcount, Ordering ordering,
+            boolean hasBeginDate, boolean hasEndDate, boolean isPaged) {
+    }
+
     protected State objectAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
         logger.debug(
                 "JDBC::ItemResultHandler::handleResult getState value = '{}', unit = '{}', getClass = '{}', clazz = '{}'",
@@ -722,6 +961,15 @@ public class JdbcBaseDAO {
         throw new UnsupportedOperationException("Date of type '" + v.getClass().getName() + "' is not supported");
     }
 
+    protected Double objectAsDouble(Object v) {
+        if (v instanceof Number objectAsNumber) {
+            return objectAsNumber.doubleValue();
+        } else if (v instanceof String objectAsString) {
+            return Double.parseDouble(objectAsString);
+        }
+        throw new UnsupportedOperationException("Double of type '" + v.getClass().getName() + "' is not supported");
+    }
+
     protected Integer objectAsInteger(Object v) {
         if (v instanceof Byte) {
             return ((Byte) v).intValue();
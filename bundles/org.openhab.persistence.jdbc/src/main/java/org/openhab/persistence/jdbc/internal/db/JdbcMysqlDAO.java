@@ -117,6 +117,12 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected int streamingFetchSize(int fetchSize) {
+        // Connector/J only streams result sets row by row with this value, otherwise it loads the whole result
+        return Integer.MIN_VALUE;
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
@@ -58,4 +58,9 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    @Override
+    protected String timeBucketProvider(long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time)";
+    }
 }
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Represents an aggregated value of one time bucket.
+ *
+ * @param time start of the time bucket
+ * @param value aggregated value of all rows within the bucket
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public record JdbcAggregate(ZonedDateTime time, double value) {
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.BufferedItemValue;
+
+/**
+ * Tests the {@link WriteBehindBuffer}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class WriteBehindBufferTest {
+
+    private final NumberItem item = new NumberItem("TestItem");
+
+    private BufferedItemValue value(int i) {
+        return new BufferedItemValue(item, new DecimalType(i), ZonedDateTime.now());
+    }
+
+    @Test
+    void offerRejectsValuesWhenFull() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(2, 2);
+
+        assertThat(buffer.offer(value(1)), is(true));
+        assertThat(buffer.offer(value(2)), is(true));
+        assertThat(buffer.offer(value(3)), is(false));
+        assertThat(buffer.size(), is(2));
+        assertThat(buffer.getOverflowCount(), is(1L));
+    }
+
+    @Test
+    void flushIsDueOnlyOnceUntilDrained() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(10, 2);
+
+        buffer.offer(value(1));
+        assertThat(buffer.isFlushDue(), is(false));
+        buffer.offer(value(2));
+        assertThat(buffer.isFlushDue(), is(true));
+        buffer.offer(value(3));
+        assertThat(buffer.isFlushDue(), is(false));
+
+        buffer.drain();
+        buffer.offer(value(4));
+        assertThat(buffer.isFlushDue(), is(true));
+    }
+
+    @Test
+    void drainReturnsAtMostOneBatchInOrder() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(10, 2);
+        BufferedItemValue first = value(1);
+        BufferedItemValue second = value(2);
+        buffer.offer(first);
+        buffer.offer(second);
+        buffer.offer(value(3));
+
+        assertThat(buffer.drain(), is(List.of(first, second)));
+        assertThat(buffer.size(), is(1));
+    }
+
+    @Test
+    void requeuePutsValuesBackInFront() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(10, 2);
+        BufferedItemValue first = value(1);
+        BufferedItemValue second = value(2);
+        BufferedItemValue third = value(3);
+        buffer.offer(first);
+        buffer.offer(second);
+        buffer.offer(third);
+
+        buffer.requeue(buffer.drain());
+
+        assertThat(buffer.drain(), is(List.of(first, second)));
+        assertThat(buffer.drain(), is(List.of(third)));
+    }
+
+    @Test
+    void requeueDropsOldestValuesWhenFull() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(3, 3);
+        BufferedItemValue first = value(1);
+        BufferedItemValue second = value(2);
+        BufferedItemValue third = value(3);
+        buffer.offer(first);
+        buffer.offer(second);
+        buffer.offer(third);
+        List<BufferedItemValue> failed = buffer.drain();
+        BufferedItemValue fourth = value(4);
+        BufferedItemValue fifth = value(5);
+        buffer.offer(fourth);
+        buffer.offer(fifth);
+
+        buffer.requeue(failed);
+
+        assertThat(buffer.getDroppedCount(), is(2L));
+        assertThat(buffer.drain(), is(List.of(third, fourth, fifth)));
+    }
+}
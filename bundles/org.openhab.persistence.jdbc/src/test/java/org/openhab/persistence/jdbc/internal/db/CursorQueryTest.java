@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+
+/**
+ * Tests the {@link CursorQuery}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class CursorQueryTest {
+
+    private static final String SQL = "SELECT time, value FROM item0001";
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    private static HistoricItem toItem(Object[] row) {
+        return new JdbcHistoricItem("item", new DecimalType((Integer) row[1]), ZonedDateTime.now());
+    }
+
+    @Test
+    public void connectionIsReleasedBeforeResultIsIterated() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getObject(2)).thenReturn(1, 2, 3);
+
+        List<HistoricItem> items = CursorQuery.read(dataSource, SQL, new Object[] { "a" }, 100,
+                CursorQueryTest::toItem);
+
+        verify(statement).setFetchSize(100);
+        verify(statement).setObject(1, "a");
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).rollback();
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+
+        // stopping early does not hold any database resources
+        Iterator<HistoricItem> iterator = items.iterator();
+        assertEquals(new DecimalType(1), iterator.next().getState());
+        assertEquals(3, items.size());
+        verifyNoMoreInteractions(dataSource);
+    }
+
+    @Test
+    public void readErrorIsReportedAndConnectionReleased() throws SQLException {
+        when(resultSet.next()).thenReturn(true).thenThrow(new SQLException("connection lost"));
+        when(resultSet.getObject(2)).thenReturn(1);
+
+        SQLException e = assertThrows(SQLException.class,
+                () -> CursorQuery.read(dataSource, SQL, new Object[0], 100, CursorQueryTest::toItem));
+
+        assertEquals("connection lost", e.getMessage());
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).rollback();
+        verify(connection).close();
+    }
+}
@@ -13,7 +13,9 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,7 +25,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -66,6 +68,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregateFunction;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -162,7 +165,7 @@ public class JdbcBaseDAOTest {
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrder() {
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC"));
     }
 
@@ -170,7 +173,7 @@ public class JdbcBaseDAOTest {
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseAscendingOrder() {
         filter.setOrdering(Ordering.ASCENDING);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time ASC"));
     }
 
@@ -179,24 +182,86 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "' ORDER BY time DESC"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
     }
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrderAndLimit() {
         filter.setPageSize(1);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT ?,?"));
+    }
+
+    @Test
+    void testHistItemFilterQueryParamsWithStartAndEndDateAndLimit() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+        filter.setPageSize(10);
+        filter.setPageNumber(2);
+
+        Object[] params = jdbcBaseDAO.histItemFilterQueryParams(filter, ZoneId.of("Europe/Berlin"));
+        assertThat(params, is(new Object[] { java.sql.Timestamp.valueOf("2022-01-10 16:01:44"),
+                java.sql.Timestamp.valueOf("2022-01-15 16:01:44"), 20, 10 }));
+    }
+
+    @Test
+    void testGetHistItemFilterQueryReusesQueryForSameShape() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        String sql = jdbcBaseDAO.getHistItemFilterQuery(filter, 0, DB_TABLE_NAME, "TEST");
+
+        FilterCriteria otherFilter = new FilterCriteria();
+        otherFilter.setBeginDate(parseDateTimeString("2023-05-01T00:00:00"));
+        assertThat(jdbcBaseDAO.getHistItemFilterQuery(otherFilter, 0, DB_TABLE_NAME, "TEST"), sameInstance(sql));
+
+        otherFilter.setEndDate(parseDateTimeString("2023-05-02T00:00:00"));
+        assertThat(jdbcBaseDAO.getHistItemFilterQuery(otherFilter, 0, DB_TABLE_NAME, "TEST"),
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderWithStartDateReturnsAggregateQuery() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, DB_TABLE_NAME, AggregateFunction.AVG);
+        assertThat(sql, is("SELECT AVG(value) FROM " + DB_TABLE_NAME + " WHERE TIME>=?"));
+    }
+
+    @Test
+    void testHistItemBucketQueryProviderReturnsGroupedQuery() {
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemBucketQueryProvider(filter, DB_TABLE_NAME, AggregateFunction.MAX, 3600);
+        String bucket = "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / 3600) * 3600)";
+        assertThat(sql, is("SELECT " + bucket + ", MAX(value) FROM " + DB_TABLE_NAME + " GROUP BY " + bucket
+                + " ORDER BY " + bucket + " ASC"));
+    }
+
+    @Test
+    void testCheckAggregatableAcceptsNumericItems() {
+        assertDoesNotThrow(() -> jdbcBaseDAO.checkAggregatable(new NumberItem("Number"), AggregateFunction.AVG));
+        assertDoesNotThrow(() -> jdbcBaseDAO.checkAggregatable(new DimmerItem("Dimmer"), AggregateFunction.SUM));
+        assertDoesNotThrow(
+                () -> jdbcBaseDAO.checkAggregatable(new RollershutterItem("Rollershutter"), AggregateFunction.MAX));
+        // counting works for all item types
+        assertDoesNotThrow(() -> jdbcBaseDAO.checkAggregatable(new StringItem("String"), AggregateFunction.COUNT));
+    }
+
+    @Test
+    void testAggregateOfNonNumericItemIsRejectedBeforeQuery() {
+        filter.setItemName("String");
+
+        assertThrows(IllegalArgumentException.class, () -> jdbcBaseDAO.doGetItemValueAggregate(
+                new StringItem("String"), filter, DB_TABLE_NAME, AggregateFunction.AVG, UTC_ZONE_ID));
+        assertThrows(IllegalArgumentException.class, () -> jdbcBaseDAO.doGetItemValueAggregates(
+                new SwitchItem("Switch"), filter, DB_TABLE_NAME, AggregateFunction.SUM, 3600, UTC_ZONE_ID));
     }
 
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
         assertThat(sql, is("TRUNCATE TABLE " + DB_TABLE_NAME));
     }
 
@@ -205,35 +270,35 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
-        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "'"));
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
+        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
     }
 
     @Test
     void testResolveTimeFilterWithNoDatesReturnsEmptyString() {
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
         assertThat(sql, is(""));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID), is(List.of()));
     }
 
     @Test
     void testResolveTimeFilterWithStartDateOnlyReturnsWhereClause() {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME>='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=?"));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID),
+                is(List.of(java.sql.Timestamp.valueOf("2022-01-10 15:01:44"))));
     }
 
     @Test
     void testResolveTimeFilterWithEndDateOnlyReturnsWhereClause() {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME<='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME<=?"));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID),
+                is(List.of(java.sql.Timestamp.valueOf("2022-01-15 15:01:44"))));
     }
 
     @Test
@@ -241,12 +306,8 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql,
-                is(" WHERE TIME>='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
-                        + "'" //
-                        + " AND TIME<='"
-                        + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=? AND TIME<=?"));
     }
 
     private ZonedDateTime parseDateTimeString(String dts) {
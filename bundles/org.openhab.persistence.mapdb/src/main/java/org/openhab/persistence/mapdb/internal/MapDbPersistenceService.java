@@ -19,14 +19,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,6 +37,8 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -43,9 +48,11 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,7 +67,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -69,22 +79,39 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final int COMMIT_INTERVAL_DEFAULT = 0;
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persist");
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+
+    /**
+     * holds the binary records by item name, records written by older versions are JSON strings
+     */
+    private @NonNullByDefault({}) Map<String, Object> map;
+
+    /**
+     * holds the records that are not yet committed when group commits are enabled
+     */
+    private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+
+    private int commitInterval = COMMIT_INTERVAL_DEFAULT;
+    private @Nullable ScheduledFuture<?> commitJob;
 
     private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
         try {
@@ -134,19 +161,90 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        migrateJsonRecords();
+        modified(config);
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        int newCommitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Integer.class,
+                COMMIT_INTERVAL_DEFAULT);
+        stopCommitJob();
+        commitInterval = Math.max(0, newCommitInterval);
+        if (commitInterval > 0) {
+            commitJob = scheduler.scheduleWithFixedDelay(this::commitPending, commitInterval, commitInterval,
+                    TimeUnit.SECONDS);
+            logger.debug("MapDB group commits every {} seconds enabled", commitInterval);
+        } else {
+            // switching back to immediate commits must not leave records behind
+            commitPending();
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        stopCommitJob();
+        commitInterval = 0;
         if (db != null) {
+            commitPending();
             db.close();
         }
     }
 
+    private void stopCommitJob() {
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+    }
+
+    /**
+     * Converts the JSON records written by older versions to the binary format in a single transaction.
+     */
+    private void migrateJsonRecords() {
+        int migrated = 0;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (entry.getValue() instanceof String json) {
+                Optional<MapDbItem> item = deserialize(json);
+                if (item.isPresent()) {
+                    map.put(entry.getKey(), MapDbStateCodec.encode(item.get()));
+                } else {
+                    map.remove(entry.getKey());
+                }
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            db.commit();
+            logger.info("Migrated {} MapDB records to the binary format", migrated);
+        }
+    }
+
+    /**
+     * Writes all pending records to the database and commits them in one transaction.
+     */
+    private synchronized void commitPending() {
+        if (pending.isEmpty() || db == null || db.isClosed()) {
+            return;
+        }
+        int count = 0;
+        for (String name : pending.keySet()) {
+            byte[] record = pending.remove(name);
+            if (record != null) {
+                map.put(name, record);
+                count++;
+            }
+        }
+        db.commit();
+        logger.debug("Committed {} records to MapDB database", count);
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -159,8 +257,16 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        Set<String> names = new HashSet<>(map.keySet());
+        names.addAll(pending.keySet());
+        Set<PersistenceItemInfo> items = new HashSet<>();
+        for (String name : names) {
+            MapDbItem item = get(name);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return Set.copyOf(items);
     }
 
     @Override
@@ -183,26 +289,37 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
+        byte[] record = MapDbStateCodec.encode(mItem);
+        if (commitInterval > 0) {
+            pending.put(localAlias, record);
+            logger.debug("Queued '{}' with state '{}' for the next MapDB commit", localAlias, state);
+            return;
+        }
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
+            map.put(localAlias, record);
             db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
-        }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
+        String name = filter.getItemName();
+        MapDbItem item = name == null ? null : get(name);
+        return item == null ? List.of() : List.of(item);
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private @Nullable MapDbItem get(String name) {
+        Object record = pending.get(name);
+        if (record == null) {
+            record = map.get(name);
+        }
+        if (record instanceof byte[] bytes) {
+            return MapDbStateCodec.decode(name, bytes);
+        } else if (record instanceof String json) {
+            return deserialize(json).orElse(null);
+        }
+        return null;
     }
 
     @SuppressWarnings("null")
@@ -218,10 +335,6 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
-    }
-
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.RESTORE, PersistenceStrategy.Globals.CHANGE);
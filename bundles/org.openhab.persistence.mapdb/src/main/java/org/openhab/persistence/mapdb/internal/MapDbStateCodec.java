@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact binary encoding of {@link MapDbItem}s.
+ *
+ * A record starts with a format version byte and the timestamp, followed by a type tag and the state. The common
+ * state types are written in a dedicated form that can be decoded without any parsing, all other states are written
+ * as class name and full string and restored via the {@link TypeParser}. The item name is not part of the record, it
+ * is the key of the map entry.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbStateCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TYPE_GENERIC = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_QUANTITY = 3;
+    private static final byte TYPE_ON_OFF = 4;
+    private static final byte TYPE_OPEN_CLOSED = 5;
+    private static final byte TYPE_UP_DOWN = 6;
+    private static final byte TYPE_STRING = 7;
+    private static final byte TYPE_HSB = 8;
+    private static final byte TYPE_DATE_TIME = 9;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapDbStateCodec.class);
+
+    private MapDbStateCodec() {
+        // static methods only
+    }
+
+    /**
+     * Encodes the state and timestamp of the given item.
+     *
+     * @param item the item to encode
+     * @return the binary record
+     */
+    public static byte[] encode(MapDbItem item) {
+        Output out = new Output();
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+
+        State state = item.getState();
+        Class<?> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeDecimal(((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            out.writeDecimal(((PercentType) state).toBigDecimal());
+        } else if (type == QuantityType.class) {
+            out.writeByte(TYPE_QUANTITY);
+            out.writeString(state.toFullString());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeByte((byte) ((OnOffType) state).ordinal());
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeByte((byte) ((OpenClosedType) state).ordinal());
+        } else if (type == UpDownType.class) {
+            out.writeByte(TYPE_UP_DOWN);
+            out.writeByte((byte) ((UpDownType) state).ordinal());
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            out.writeString(state.toFullString());
+        } else if (type == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TYPE_HSB);
+            out.writeDecimal(hsb.getHue().toBigDecimal());
+            out.writeDecimal(hsb.getSaturation().toBigDecimal());
+            out.writeDecimal(hsb.getBrightness().toBigDecimal());
+        } else if (type == DateTimeType.class) {
+            ZonedDateTime dateTime = ((DateTimeType) state).getZonedDateTime();
+            out.writeByte(TYPE_DATE_TIME);
+            out.writeLong(dateTime.toEpochSecond());
+            out.writeInt(dateTime.getNano());
+            out.writeString(dateTime.getZone().getId());
+        } else {
+            out.writeByte(TYPE_GENERIC);
+            out.writeString(type.getName());
+            out.writeString(state.toFullString());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a binary record written by {@link #encode(MapDbItem)}.
+     *
+     * @param name the name of the item the record is stored for
+     * @param data the binary record
+     * @return the decoded item or <code>null</code> if the record could not be decoded
+     */
+    public static @Nullable MapDbItem decode(String name, byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            byte version = in.get();
+            if (version != FORMAT_VERSION) {
+                LOGGER.warn("Couldn't decode state of '{}': unknown format version {}", name, version);
+                return null;
+            }
+            long timestamp = in.getLong();
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | DateTimeException e) {
+            LOGGER.warn("Couldn't decode state of '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static @Nullable State readState(ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_QUANTITY:
+                return new QuantityType<>(readString(in));
+            case TYPE_ON_OFF:
+                return OnOffType.values()[in.get()];
+            case TYPE_OPEN_CLOSED:
+                return OpenClosedType.values()[in.get()];
+            case TYPE_UP_DOWN:
+                return UpDownType.values()[in.get()];
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_DATE_TIME:
+                Instant instant = Instant.ofEpochSecond(in.getLong(), in.getInt());
+                return new DateTimeType(ZonedDateTime.ofInstant(instant, ZoneId.of(readString(in))));
+            case TYPE_GENERIC:
+                String typeName = readString(in);
+                String value = readString(in);
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> stateType = (Class<? extends State>) Class.forName(typeName);
+                    return TypeParser.parseState(List.of(stateType), value);
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    LOGGER.warn("Couldn't decode state '{}' of type '{}': {}", value, typeName, e.getMessage());
+                    return null;
+                }
+            default:
+                throw new IllegalArgumentException("unknown state type " + type);
+        }
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer in) {
+        int scale = in.getInt();
+        byte[] unscaled = new byte[in.getInt()];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * A minimal growable byte buffer, avoids the synchronization overhead of the JDK output streams.
+     */
+    private static class Output {
+        private byte[] buffer = new byte[32];
+        private int size;
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                byte[] newBuffer = new byte[Math.max(buffer.length * 2, size + additional)];
+                System.arraycopy(buffer, 0, newBuffer, 0, size);
+                buffer = newBuffer;
+            }
+        }
+
+        void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeInt(value.scale());
+            writeBytes(value.unscaledValue().toByteArray());
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            byte[] result = new byte[size];
+            System.arraycopy(buffer, 0, result, 0, size);
+            return result;
+        }
+    }
+}
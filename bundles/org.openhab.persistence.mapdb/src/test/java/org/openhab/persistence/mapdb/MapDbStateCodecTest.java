@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.MapDbStateCodec;
+
+/**
+ * Tests the {@link MapDbStateCodec}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbStateCodecTest {
+
+    private static final Date TIMESTAMP = new Date(1700000000123L);
+
+    private static MapDbItem item(State state) {
+        MapDbItem item = new MapDbItem();
+        item.setName("Test");
+        item.setState(state);
+        item.setTimestamp(TIMESTAMP);
+        return item;
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void encodeDecodeRoundtripShouldRecreateTheItem(State state) {
+        byte[] data = MapDbStateCodec.encode(item(state));
+        MapDbItem actual = Objects.requireNonNull(MapDbStateCodec.decode("Test", data));
+
+        assertThat(actual.getName(), is("Test"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp().toInstant(), is(TIMESTAMP.toInstant()));
+    }
+
+    public static Stream<State> encodeDecodeRoundtripShouldRecreateTheItem() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), new DecimalType(new BigDecimal("-1E+30")),
+                PercentType.HUNDRED, PercentType.valueOf("0.0000001"), QuantityType.valueOf("1 kW"),
+                new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS), QuantityType.valueOf(20, Units.AMPERE),
+                OnOffType.ON, OnOffType.OFF, OpenClosedType.CLOSED, UpDownType.DOWN, StringType.valueOf(""),
+                StringType.valueOf("äöü @@@ €"), HSBType.fromRGB(11, 22, 33),
+                new DateTimeType(ZonedDateTime.of(2023, 11, 14, 22, 13, 20, 123456789, ZoneId.of("Europe/Berlin"))),
+                PlayPauseType.PAUSE, new PointType("52.5,13.4"));
+    }
+
+    @Test
+    public void decodeShouldRejectUnknownFormat() {
+        assertThat(MapDbStateCodec.decode("Test", new byte[] { 42, 0, 0 }), is(nullValue()));
+        assertThat(MapDbStateCodec.decode("Test", new byte[] { 1, 0 }), is(nullValue()));
+    }
+}
@@ -21,10 +21,15 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -60,6 +65,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
@@ -83,12 +90,15 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final int BUFFER_SIZE_DEFAULT = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private int flushInterval;
 
     private boolean initialized = false;
 
@@ -96,6 +106,13 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    /** collections already used, their index has been ensured when they were first opened */
+    private final Map<String, DBCollection> collections = new ConcurrentHashMap<>();
+
+    private MongoDBWriteBuffer writeBuffer = new MongoDBWriteBuffer(BUFFER_SIZE_DEFAULT);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("persist");
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -127,16 +144,50 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        flushInterval = Math.max(0, getIntConfig(config, "flushInterval", 0));
+        int bufferSize = Math.max(1, getIntConfig(config, "bufferSize", BUFFER_SIZE_DEFAULT));
+        logger.debug("MongoDB flush interval {} ms, buffer size {}", flushInterval, bufferSize);
+        writeBuffer = new MongoDBWriteBuffer(bufferSize);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
+        } else if (!collectionPerItem) {
+            // open the collection and ensure its index now rather than on the first store or query
+            connectToCollection(collection);
+        }
+
+        if (flushInterval > 0) {
+            flushJob = scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+                    TimeUnit.MILLISECONDS);
         }
 
         initialized = true;
     }
 
+    private static int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                LoggerFactory.getLogger(MongoDBPersistenceService.class)
+                        .warn("Invalid value '{}' for parameter '{}', using {}", string, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
         disconnectFromDatabase();
     }
 
@@ -175,14 +226,6 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         String realItemName = item.getName();
         String collectionName = collectionPerItem ? realItemName : this.collection;
 
-        @Nullable
-        DBCollection collection = connectToCollection(collectionName);
-
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
-        }
-
         String name = (alias != null) ? alias : realItemName;
         Object value = this.convertValue(item.getState());
 
@@ -192,11 +235,70 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         obj.put(FIELD_REALNAME, realItemName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        collection.save(obj);
+
+        if (flushInterval > 0) {
+            if (writeBuffer.add(collectionName, obj)) {
+                // don't wait for the interval when the buffer is full
+                scheduler.execute(this::flush);
+            }
+            logger.debug("MongoDB buffered {}={}", name, value);
+            return;
+        }
+
+        @Nullable
+        DBCollection collection = connectToCollection(collectionName);
+
+        if (collection == null) {
+            // Logging is done in connectToCollection()
+            return;
+        }
+
+        collection.insert(obj);
 
         logger.debug("MongoDB save {}={}", name, value);
     }
 
+    /**
+     * Inserts all buffered documents, with one unordered bulk write per collection.
+     */
+    private void flush() {
+        writeBuffer.flush(this::insertMany);
+    }
+
+    private void insertMany(String collectionName, List<DBObject> documents) {
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Cannot persist {} values to collection '{}'!",
+                    documents.size(), collectionName);
+            return;
+        }
+        @Nullable
+        DBCollection collection = connectToCollection(collectionName);
+        if (collection == null) {
+            // Logging is done in connectToCollection()
+            return;
+        }
+        try {
+            insertUnordered(collection, documents);
+            logger.debug("MongoDB saved {} values to collection '{}'", documents.size(), collectionName);
+        } catch (BulkWriteException e) {
+            logger.warn("Failed to save {} of {} values to collection '{}': {}", e.getWriteErrors().size(),
+                    documents.size(), collectionName, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Failed to save {} values to collection '{}': {}", documents.size(), collectionName,
+                    e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Inserts the documents with one bulk write. It is unordered, so the server can apply the inserts in parallel and
+     * one failure doesn't stop the others.
+     */
+    static void insertUnordered(DBCollection collection, List<DBObject> documents) {
+        BulkWriteOperation bulk = collection.initializeUnorderedBulkOperation();
+        documents.forEach(bulk::insert);
+        bulk.execute();
+    }
+
     private Object convertValue(State state) {
         Object value;
         if (state instanceof PercentType type) {
@@ -282,11 +384,16 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection. The index on item and timestamp is only ensured when a collection is used for the
+     * first time on a connection.
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable DBCollection connectToCollection(String collectionName) {
+        DBCollection mongoCollection = collections.get(collectionName);
+        if (mongoCollection != null) {
+            return mongoCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -296,12 +403,13 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                 return null;
             }
 
-            DBCollection mongoCollection = db.getDB(this.db).getCollection(collectionName);
+            mongoCollection = db.getDB(this.db).getCollection(collectionName);
 
             BasicDBObject idx = new BasicDBObject();
             idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -313,6 +421,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         if (this.cl != null) {
             this.cl.close();
         }
@@ -354,7 +463,6 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
-        List<HistoricItem> items = new ArrayList<>();
         BasicDBObject query = new BasicDBObject();
         if (filter.getItemName() != null) {
             query.put(FIELD_ITEM, filter.getItemName());
@@ -386,36 +494,53 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
         logger.debug("Query: {}", query);
 
-        Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
-                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
-
-        while (cursor.hasNext()) {
-            BasicDBObject obj = (BasicDBObject) cursor.next();
-
-            final State state;
-            if (item instanceof NumberItem) {
-                state = new DecimalType(obj.getDouble(FIELD_VALUE));
-            } else if (item instanceof DimmerItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof SwitchItem) {
-                state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof ContactItem) {
-                state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof RollershutterItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof DateTimeItem) {
-                state = new DateTimeType(
-                        ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
-            } else {
-                state = new StringType(obj.getString(FIELD_VALUE));
+        BasicDBObject sort = new BasicDBObject(FIELD_TIMESTAMP,
+                (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1);
+        int skip = filter.getPageNumber() * filter.getPageSize();
+        int limit = filter.getPageSize();
+
+        return readHistoricItems(collection.find(query).sort(sort).skip(skip).limit(limit), item, realItemName);
+    }
+
+    /**
+     * Reads all documents of the cursor, which is limited to one page, and closes it.
+     *
+     * The page is read completely here rather than while the result is iterated, so the cursor is closed even if the
+     * result is not fully iterated, and reading doesn't depend on a collection that may be closed in the meantime.
+     */
+    static List<HistoricItem> readHistoricItems(DBCursor cursor, Item item, String realItemName) {
+        try {
+            List<HistoricItem> items = new ArrayList<>();
+            while (cursor.hasNext()) {
+                items.add(toHistoricItem(item, realItemName, (BasicDBObject) cursor.next()));
             }
+            return items;
+        } finally {
+            cursor.close();
+        }
+    }
 
-            items.add(new MongoDBItem(realItemName, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+    private static HistoricItem toHistoricItem(Item item, String realItemName, BasicDBObject obj) {
+        final State state;
+        if (item instanceof NumberItem) {
+            state = new DecimalType(obj.getDouble(FIELD_VALUE));
+        } else if (item instanceof DimmerItem) {
+            state = new PercentType(obj.getInt(FIELD_VALUE));
+        } else if (item instanceof SwitchItem) {
+            state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
+        } else if (item instanceof ContactItem) {
+            state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
+        } else if (item instanceof RollershutterItem) {
+            state = new PercentType(obj.getInt(FIELD_VALUE));
+        } else if (item instanceof DateTimeItem) {
+            state = new DateTimeType(
+                    ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
+        } else {
+            state = new StringType(obj.getString(FIELD_VALUE));
         }
 
-        return items;
+        return new MongoDBItem(realItemName, state,
+                ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault()));
     }
 
     private @Nullable String convertOperator(Operator operator) {
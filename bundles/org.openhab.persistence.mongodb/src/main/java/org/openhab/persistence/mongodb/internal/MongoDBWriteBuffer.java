@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import com.mongodb.DBObject;
+
+/**
+ * Collects documents that are waiting to be inserted, per collection.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class MongoDBWriteBuffer {
+
+    private final int capacity;
+    private final Map<String, Queue<DBObject>> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * @param capacity the number of documents at which the buffer is reported full
+     */
+    MongoDBWriteBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a document to the buffer.
+     *
+     * @return true if this document filled the buffer, so it should be flushed without waiting for the interval
+     */
+    boolean add(String collectionName, DBObject document) {
+        pendingWrites.computeIfAbsent(collectionName, k -> new ConcurrentLinkedQueue<>()).add(document);
+        return pendingCount.incrementAndGet() == capacity;
+    }
+
+    /**
+     * @return the number of documents waiting to be inserted
+     */
+    int size() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Removes all buffered documents and passes them to the writer, once per collection.
+     *
+     * @param writer called with the collection name and its documents, in the order they were added
+     */
+    synchronized void flush(BiConsumer<String, List<DBObject>> writer) {
+        if (pendingCount.get() == 0) {
+            return;
+        }
+        for (Map.Entry<String, Queue<DBObject>> entry : pendingWrites.entrySet()) {
+            Queue<DBObject> queue = entry.getValue();
+            List<DBObject> documents = new ArrayList<>();
+            DBObject document;
+            while ((document = queue.poll()) != null) {
+                documents.add(document);
+            }
+            if (documents.isEmpty()) {
+                continue;
+            }
+            pendingCount.addAndGet(-documents.size());
+            writer.accept(entry.getKey(), documents);
+        }
+    }
+}
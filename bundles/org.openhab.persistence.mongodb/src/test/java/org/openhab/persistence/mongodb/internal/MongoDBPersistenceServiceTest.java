@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+
+/**
+ * Tests for the bulk insert and the reading of query results of {@link MongoDBPersistenceService}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBPersistenceServiceTest {
+
+    private static final NumberItem ITEM = new NumberItem("Temperature");
+
+    private static BasicDBObject document(double value, long epochSecond) {
+        return new BasicDBObject("value", value).append("timestamp", Date.from(Instant.ofEpochSecond(epochSecond)));
+    }
+
+    @Test
+    public void testInsertUnorderedUsesOneBulkWrite() {
+        DBCollection collection = mock(DBCollection.class);
+        BulkWriteOperation bulk = mock(BulkWriteOperation.class);
+        when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+        DBObject first = new BasicDBObject("value", 1);
+        DBObject second = new BasicDBObject("value", 2);
+
+        MongoDBPersistenceService.insertUnordered(collection, List.of(first, second));
+
+        InOrder inOrder = inOrder(bulk);
+        inOrder.verify(bulk).insert(first);
+        inOrder.verify(bulk).insert(second);
+        inOrder.verify(bulk).execute();
+        verify(collection, never()).insert(any(DBObject.class));
+    }
+
+    @Test
+    public void testReadHistoricItemsReadsPageAndClosesCursor() {
+        DBCursor cursor = mock(DBCursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(document(20.5, 1000), document(21, 2000));
+
+        List<HistoricItem> items = MongoDBPersistenceService.readHistoricItems(cursor, ITEM, "Temperature");
+
+        verify(cursor).close();
+        assertEquals(2, items.size());
+        assertEquals("Temperature", items.get(0).getName());
+        assertEquals(new DecimalType(20.5), items.get(0).getState());
+        assertEquals(Instant.ofEpochSecond(1000), items.get(0).getTimestamp().toInstant());
+        assertEquals(new DecimalType(21), items.get(1).getState());
+        assertEquals(Instant.ofEpochSecond(2000), items.get(1).getTimestamp().toInstant());
+    }
+
+    @Test
+    public void testReadHistoricItemsClosesEmptyCursor() {
+        DBCursor cursor = mock(DBCursor.class);
+        when(cursor.hasNext()).thenReturn(false);
+
+        assertTrue(MongoDBPersistenceService.readHistoricItems(cursor, ITEM, "Temperature").isEmpty());
+        verify(cursor).close();
+    }
+
+    @Test
+    public void testReadHistoricItemsClosesCursorOnFailure() {
+        DBCursor cursor = mock(DBCursor.class);
+        when(cursor.hasNext()).thenReturn(true);
+        when(cursor.next()).thenThrow(new IllegalStateException("connection closed"));
+
+        assertThrows(IllegalStateException.class,
+                () -> MongoDBPersistenceService.readHistoricItems(cursor, ITEM, "Temperature"));
+        verify(cursor).close();
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Tests for {@link MongoDBWriteBuffer}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBWriteBufferTest {
+
+    private final MongoDBWriteBuffer buffer = new MongoDBWriteBuffer(3);
+
+    private static DBObject document(int value) {
+        return new BasicDBObject("value", value);
+    }
+
+    private Map<String, List<DBObject>> flush() {
+        Map<String, List<DBObject>> written = new LinkedHashMap<>();
+        buffer.flush((collectionName, documents) -> {
+            assertNull(written.put(collectionName, documents), "one write per collection");
+        });
+        return written;
+    }
+
+    @Test
+    public void testAddReportsFullBufferOnce() {
+        assertFalse(buffer.add("a", document(1)));
+        assertFalse(buffer.add("a", document(2)));
+        assertTrue(buffer.add("b", document(3)));
+        assertFalse(buffer.add("b", document(4)));
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    public void testFlushWritesDocumentsPerCollectionInOrder() {
+        buffer.add("a", document(1));
+        buffer.add("b", document(2));
+        buffer.add("a", document(3));
+
+        Map<String, List<DBObject>> written = flush();
+
+        assertEquals(Map.of("a", List.of(document(1), document(3)), "b", List.of(document(2))), written);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testFlushEmptyBufferDoesNotWrite() {
+        assertTrue(flush().isEmpty());
+
+        buffer.add("a", document(1));
+        flush();
+
+        assertTrue(flush().isEmpty());
+    }
+
+    @Test
+    public void testBufferIsReportedFullAgainAfterFlush() {
+        buffer.add("a", document(1));
+        buffer.add("a", document(2));
+        assertTrue(buffer.add("a", document(3)));
+
+        flush();
+
+        assertFalse(buffer.add("a", document(4)));
+        assertFalse(buffer.add("a", document(5)));
+        assertTrue(buffer.add("a", document(6)));
+    }
+
+    @Test
+    public void testDocumentsAddedWhileWritingAreKeptForNextFlush() {
+        buffer.add("a", document(1));
+        List<DBObject> written = new ArrayList<>();
+
+        buffer.flush((collectionName, documents) -> {
+            written.addAll(documents);
+            buffer.add("a", document(2));
+        });
+
+        assertEquals(List.of(document(1)), written);
+        assertEquals(1, buffer.size());
+        assertEquals(Map.of("a", List.of(document(2))), flush());
+    }
+}
@@ -22,17 +22,23 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -79,6 +85,7 @@ import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
@@ -107,12 +114,42 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
 
+    private static final String WRITER_THREADS_PARAM = "writerThreads";
+    private static final String BACKEND_PARAM = "backend";
+    private static final String SYNC_INTERVAL_PARAM = "syncInterval";
+    private static final Set<String> GENERAL_PARAMS = Set.of(WRITER_THREADS_PARAM, BACKEND_PARAM,
+            SYNC_INTERVAL_PARAM);
+    private static final int DEFAULT_WRITER_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final String BACKEND_DEFAULT = "default";
+    private static final String BACKEND_MMAP = "mmap";
+    private static final int DEFAULT_SYNC_INTERVAL = 60; // in s
+
+    // the pool keeps at most 200 files open, leave some room for queries and charts
+    private static final int MAX_OPEN_DATABASES = 150;
+
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory("RRD4j"));
 
+    // values of an item are always written by the same lane, so they are stored in order
+    private final ThreadPoolExecutor writers = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("RRD4j-writer"));
+    private volatile int writerLanes = 1;
+
+    // in memory-mapped mode, databases are kept open between updates and synced to disk by closing them
+    private volatile boolean memoryMapped = false;
+    private int syncInterval = DEFAULT_SYNC_INTERVAL;
+    private @Nullable ScheduledFuture<?> syncJob;
+    private final Map<String, RrdDb> openDatabases = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong updateCount = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong syncedDatabaseCount = new AtomicLong();
+    private volatile long lastSyncDuration = 0;
+
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
     private final ConcurrentSkipListMap<Long, Map<String, Double>> storageMap = new ConcurrentSkipListMap<>();
@@ -147,6 +184,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        setWriterLanes(parseWriterThreads(config.get(WRITER_THREADS_PARAM)));
+        configureBackend(config.get(BACKEND_PARAM), config.get(SYNC_INTERVAL_PARAM));
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -198,8 +238,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || GENERAL_PARAMS.contains(key)) {
+                // ignore service.pid and name, general options are handled above
                 continue;
             }
 
@@ -253,6 +293,61 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private int parseWriterThreads(@Nullable Object value) {
+        if (value != null) {
+            try {
+                return Math.max(1, Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration {}={}", WRITER_THREADS_PARAM, value);
+            }
+        }
+        return DEFAULT_WRITER_THREADS;
+    }
+
+    private void setWriterLanes(int lanes) {
+        // core size must never exceed maximum size
+        if (lanes > writers.getMaximumPoolSize()) {
+            writers.setMaximumPoolSize(lanes);
+            writers.setCorePoolSize(lanes);
+        } else {
+            writers.setCorePoolSize(lanes);
+            writers.setMaximumPoolSize(lanes);
+        }
+        writerLanes = lanes;
+        logger.debug("Using {} writer lanes", lanes);
+    }
+
+    private synchronized void configureBackend(@Nullable Object backend, @Nullable Object interval) {
+        boolean mmap = false;
+        if (backend != null && BACKEND_MMAP.equalsIgnoreCase(backend.toString().trim())) {
+            mmap = true;
+        } else if (backend != null && !BACKEND_DEFAULT.equalsIgnoreCase(backend.toString().trim())) {
+            logger.warn("Ignoring illegal configuration {}={}", BACKEND_PARAM, backend);
+        }
+        int newSyncInterval = DEFAULT_SYNC_INTERVAL;
+        if (interval != null) {
+            try {
+                newSyncInterval = Math.max(1, Integer.parseInt(interval.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration {}={}", SYNC_INTERVAL_PARAM, interval);
+            }
+        }
+
+        ScheduledFuture<?> syncJob = this.syncJob;
+        if (syncJob != null) {
+            syncJob.cancel(false);
+            this.syncJob = null;
+        }
+        memoryMapped = mmap;
+        syncInterval = newSyncInterval;
+        syncDatabases();
+        if (mmap) {
+            this.syncJob = scheduler.scheduleWithFixedDelay(this::syncDatabases, newSyncInterval, newSyncInterval,
+                    TimeUnit.SECONDS);
+            logger.debug("Using memory-mapped databases, synced every {}s", newSyncInterval);
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -260,6 +355,14 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        writers.shutdown();
+
+        ScheduledFuture<?> syncJob = this.syncJob;
+        if (syncJob != null) {
+            syncJob.cancel(false);
+        }
+        memoryMapped = false;
+        syncDatabases();
     }
 
     @Override
@@ -326,6 +429,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     private void doStore(boolean force) {
+        int lanes = writerLanes;
+        List<List<PendingValue>> laneValues = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            laneValues.add(new ArrayList<>());
+        }
         while (!storageMap.isEmpty()) {
             long timestamp = storageMap.firstKey();
             long now = System.currentTimeMillis() / 1000;
@@ -333,14 +441,50 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Map<String, Double> values = storageMap.pollFirstEntry().getValue();
-                values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+                values.forEach((name, value) -> laneValues.get(Math.floorMod(name.hashCode(), lanes))
+                        .add(new PendingValue(name, value, timestamp)));
             } else {
+                break;
+            }
+        }
+        laneValues.removeIf(List::isEmpty);
+        if (laneValues.size() == 1) {
+            writeLane(laneValues.get(0));
+            return;
+        }
+
+        // write the lanes in parallel and wait for all of them, so the next run does not overtake this one
+        List<Future<?>> futures = new ArrayList<>(laneValues.size());
+        for (List<PendingValue> values : laneValues) {
+            try {
+                futures.add(writers.submit(() -> writeLane(values)));
+            } catch (RejectedExecutionException e) {
+                // the service is shutting down
+                writeLane(values);
+            }
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return;
+            } catch (ExecutionException e) {
+                logger.warn("Failed to write values to rrd4j databases: {}", e.getCause().getMessage());
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    private void writeLane(List<PendingValue> values) {
+        // all values of an item are written with a single database access, keeping their order
+        Map<String, List<PendingValue>> valuesByName = new LinkedHashMap<>();
+        for (PendingValue value : values) {
+            valuesByName.computeIfAbsent(value.name(), name -> new ArrayList<>()).add(value);
+        }
+        valuesByName.forEach(this::writePointsToDatabase);
+    }
+
+    private void writePointsToDatabase(String name, List<PendingValue> values) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -351,6 +495,21 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        // the pool hands out one instance per file, so it also serves as the lock of the file
+        synchronized (db) {
+            for (PendingValue value : values) {
+                updateDatabase(db, name, value.value(), value.timestamp());
+            }
+        }
+        sampleCount.addAndGet(values.size());
+        updateCount.incrementAndGet();
+        if (memoryMapped) {
+            keepOpen(name);
+        }
+        closeDatabase(db);
+    }
+
+    private void updateDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -387,6 +546,58 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
+    }
+
+    /**
+     * Keeps an additional reference to the database of an item, so the pool does not close (and sync) the file after
+     * every update. If too many databases are open, the least recently written one is closed.
+     */
+    private void keepOpen(String name) {
+        synchronized (openDatabases) {
+            if (openDatabases.get(name) != null) {
+                return;
+            }
+        }
+        RrdDb db = getDB(name, false);
+        if (db == null) {
+            return;
+        }
+        RrdDb closeDb = null;
+        synchronized (openDatabases) {
+            if (openDatabases.putIfAbsent(name, db) != null) {
+                closeDb = db;
+            } else if (openDatabases.size() > MAX_OPEN_DATABASES) {
+                Iterator<RrdDb> eldest = openDatabases.values().iterator();
+                closeDb = eldest.next();
+                eldest.remove();
+            }
+        }
+        if (closeDb != null) {
+            closeDatabase(closeDb);
+        }
+    }
+
+    /**
+     * Closes all databases kept open in memory-mapped mode, which writes their changes to disk.
+     */
+    private void syncDatabases() {
+        List<RrdDb> databases;
+        synchronized (openDatabases) {
+            if (openDatabases.isEmpty()) {
+                return;
+            }
+            databases = new ArrayList<>(openDatabases.values());
+            openDatabases.clear();
+        }
+        long start = System.nanoTime();
+        databases.forEach(this::closeDatabase);
+        lastSyncDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        syncCount.incrementAndGet();
+        syncedDatabaseCount.addAndGet(databases.size());
+        logger.trace("Synced {} rrd4j databases in {} ms", databases.size(), lastSyncDuration);
+    }
+
+    private void closeDatabase(RrdDb db) {
         try {
             db.close();
         } catch (IOException e) {
@@ -513,12 +724,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            if (memoryMapped) {
+                builder.setBackendFactory(RrdBackendFactory.getFactory("NIO"));
+            }
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -635,6 +849,46 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return SUPPORTED_TYPES.contains(ItemUtil.getMainItemType(item.getType()));
     }
 
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    public int getSyncInterval() {
+        return syncInterval;
+    }
+
+    public int getOpenDatabaseCount() {
+        synchronized (openDatabases) {
+            return openDatabases.size();
+        }
+    }
+
+    /**
+     * @return the number of samples written since the service has been started
+     */
+    public long getSampleCount() {
+        return sampleCount.get();
+    }
+
+    /**
+     * @return the number of database updates, each one writing all pending samples of an item
+     */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    public long getSyncedDatabaseCount() {
+        return syncedDatabaseCount.get();
+    }
+
+    public long getLastSyncDuration() {
+        return lastSyncDuration;
+    }
+
     public List<String> getRrdFiles() {
         try (Stream<Path> stream = Files.list(DB_FOLDER)) {
             return stream.filter(file -> !Files.isDirectory(file) && file.toFile().getName().endsWith(".rrd"))
@@ -644,6 +898,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private record PendingValue(String name, double value, long timestamp) {
+    }
+
     private static class RrdArchiveDef {
         public @Nullable ConsolFun fcn;
         public double xff;
@@ -47,8 +47,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final ItemRegistry itemRegistry;
@@ -81,6 +82,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            showStatistics(persistenceService, console);
+            return;
         }
         printUsage(console);
     }
@@ -136,11 +140,25 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         console.println(nb + " files " + (checkOnly ? "to delete." : "deleted."));
     }
 
+    private void showStatistics(RRD4jPersistenceService persistenceService, Console console) {
+        console.println("Backend:            "
+                + (persistenceService.isMemoryMapped()
+                        ? "memory-mapped, synced every " + persistenceService.getSyncInterval() + " s"
+                        : "default"));
+        console.println("Samples written:    " + persistenceService.getSampleCount());
+        console.println("Database updates:   " + persistenceService.getUpdateCount());
+        console.println("Open databases:     " + persistenceService.getOpenDatabaseCount());
+        console.println("Syncs:              " + persistenceService.getSyncCount());
+        console.println("Synced databases:   " + persistenceService.getSyncedDatabaseCount());
+        console.println("Last sync duration: " + persistenceService.getLastSyncDuration() + " ms");
+    }
+
     @Override
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS, "show write and sync statistics"));
     }
 
     @Override
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemRegistry;
+
+/**
+ * Tests the backend configuration of the {@link RRD4jPersistenceService}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest {
+
+    private @Nullable RRD4jPersistenceService service;
+
+    @AfterEach
+    public void tearDown() {
+        RRD4jPersistenceService service = this.service;
+        if (service != null) {
+            service.deactivate();
+        }
+    }
+
+    private RRD4jPersistenceService createService(Map<String, Object> config) {
+        RRD4jPersistenceService service = new RRD4jPersistenceService(mock(ItemRegistry.class), config);
+        this.service = service;
+        return service;
+    }
+
+    @Test
+    public void defaultBackendIsUsedWithoutConfiguration() {
+        RRD4jPersistenceService service = createService(Map.of());
+
+        assertFalse(service.isMemoryMapped());
+        assertEquals(60, service.getSyncInterval());
+    }
+
+    @Test
+    public void memoryMappedBackendIsConfigured() {
+        RRD4jPersistenceService service = createService(Map.of("backend", " MMAP ", "syncInterval", "30"));
+
+        assertTrue(service.isMemoryMapped());
+        assertEquals(30, service.getSyncInterval());
+
+        service.modified(Map.of("backend", "default"));
+        assertFalse(service.isMemoryMapped());
+        assertEquals(60, service.getSyncInterval());
+    }
+
+    @Test
+    public void illegalBackendConfigurationIsIgnored() {
+        RRD4jPersistenceService service = createService(Map.of("backend", "ramdisk", "syncInterval", "often"));
+
+        assertFalse(service.isMemoryMapped());
+        assertEquals(60, service.getSyncInterval());
+
+        service.modified(Map.of("backend", "mmap", "syncInterval", "0"));
+        assertTrue(service.isMemoryMapped());
+        assertEquals(1, service.getSyncInterval());
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * The {@link Bin2JsonDecoder} decodes binary data by Java Binary Block Parser syntax into a map of field values.
+ *
+ * It uses the same compiled parser rules as the BIN2JSON transformation, but skips the hexadecimal string and JSON
+ * representations, so bindings that receive binary data can use it directly.
+ *
+ * Values of numeric fields are returned as {@link Integer} or {@link Long}, boolean fields as {@link Boolean}.
+ * Arrays are returned as primitive arrays, unsigned byte and short arrays widened to <code>int[]</code>. Structures
+ * are returned as nested maps and arrays of structures as lists of maps. Fields without a name are returned as
+ * <code>nonamed</code>.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public interface Bin2JsonDecoder {
+
+    /**
+     * Decodes the remaining bytes of a buffer.
+     *
+     * @param syntax Java Binary Block Parser syntax
+     * @param data the binary data, the position of the buffer is not changed
+     * @return field values by field name, in the order of the parser rule
+     * @throws TransformationException if the syntax is invalid or the data does not match it
+     */
+    Map<String, Object> decode(String syntax, ByteBuffer data) throws TransformationException;
+}
@@ -12,10 +12,16 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.openhab.core.util.HexUtils;
 import org.slf4j.Logger;
@@ -66,6 +72,10 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * json.toString() = {"a":3,"b":-6,"c":255}}
  * </pre>
  *
+ * <p>
+ * The parser rule is compiled once in the constructor, so an instance should be reused for all data with the same
+ * format. The compiled parser keeps state of the last parse, so conversions of one instance run one at a time.
+ *
  * @author Pauli Anttila - Initial contribution
  *
  */
@@ -112,7 +122,7 @@ public class Bin2Json {
      */
     public JsonObject convert(byte[] data) throws ConversionException {
         try {
-            return convert(parser.parse(data));
+            return convert(parse(data));
         } catch (IOException e) {
             throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
         } catch (JBBPException e) {
@@ -129,7 +139,45 @@ public class Bin2Json {
      */
     public JsonObject convert(InputStream inputStream) throws ConversionException {
         try {
-            return convert(parser.parse(inputStream));
+            return convert(parse(inputStream));
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Convert the remaining bytes of a {@link ByteBuffer} to JSON object. The position of the buffer is not changed.
+     *
+     * @param buffer Data in byte buffer format.
+     * @return Gson {@link JsonObject}
+     * @throws ConversionException
+     */
+    public JsonObject convert(ByteBuffer buffer) throws ConversionException {
+        try {
+            return convert(parse(buffer));
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Decode byte array to a map of field values, without creating a JSON representation.
+     *
+     * Values of numeric fields are returned as {@link Integer} or {@link Long}, boolean fields as {@link Boolean}.
+     * Arrays are returned as primitive arrays, unsigned byte and short arrays widened to <code>int[]</code>. Structures
+     * are returned as nested maps and arrays of structures as lists of maps.
+     *
+     * @param data Data in byte array format.
+     * @return field values by field name, in the order of the parser rule
+     * @throws ConversionException
+     */
+    public Map<String, Object> decode(byte[] data) throws ConversionException {
+        try {
+            return decode(parse(data));
         } catch (IOException e) {
             throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
         } catch (JBBPException e) {
@@ -137,6 +185,115 @@ public class Bin2Json {
         }
     }
 
+    /**
+     * Decode the remaining bytes of a {@link ByteBuffer} to a map of field values. The position of the buffer is not
+     * changed.
+     *
+     * @param buffer Data in byte buffer format.
+     * @return field values by field name, in the order of the parser rule
+     * @throws ConversionException
+     * @see #decode(byte[])
+     */
+    public Map<String, Object> decode(ByteBuffer buffer) throws ConversionException {
+        try {
+            return decode(parse(buffer));
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
+    private JBBPFieldStruct parse(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            // read the backing array in place instead of copying it
+            return parse(new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining()));
+        }
+        byte[] data = new byte[buffer.remaining()];
+        buffer.duplicate().get(data);
+        return parse(data);
+    }
+
+    private JBBPFieldStruct parse(byte[] data) throws IOException {
+        synchronized (parser) {
+            return parser.parse(data);
+        }
+    }
+
+    private JBBPFieldStruct parse(InputStream inputStream) throws IOException {
+        synchronized (parser) {
+            return parser.parse(inputStream);
+        }
+    }
+
+    private Map<String, Object> decode(JBBPFieldStruct data) throws ConversionException {
+        try {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (final JBBPAbstractField f : data.getArray()) {
+                values.put(f.getFieldName() == null ? "nonamed" : f.getFieldName(), decodeField(f));
+            }
+            return values;
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+    }
+
+    private Object decodeField(final JBBPAbstractField field) throws ConversionException {
+        if (field instanceof JBBPFieldArrayBit bit) {
+            return bit.getArray();
+        } else if (field instanceof JBBPFieldArrayBoolean boolean1) {
+            return boolean1.getArray();
+        } else if (field instanceof JBBPFieldArrayByte byte1) {
+            return byte1.getArray();
+        } else if (field instanceof JBBPFieldArrayInt int1) {
+            return int1.getArray();
+        } else if (field instanceof JBBPFieldArrayLong long1) {
+            return long1.getArray();
+        } else if (field instanceof JBBPFieldArrayShort short1) {
+            return short1.getArray();
+        } else if (field instanceof JBBPFieldArrayStruct array) {
+            final List<Map<String, Object>> list = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                list.add(decode(array.getElementAt(i)));
+            }
+            return list;
+        } else if (field instanceof JBBPFieldArrayUByte byte1) {
+            final byte[] bytes = byte1.getArray();
+            final int[] ints = new int[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                ints[i] = bytes[i] & 0xFF;
+            }
+            return ints;
+        } else if (field instanceof JBBPFieldArrayUShort short1) {
+            final short[] shorts = short1.getArray();
+            final int[] ints = new int[shorts.length];
+            for (int i = 0; i < shorts.length; i++) {
+                ints[i] = shorts[i] & 0xFFFF;
+            }
+            return ints;
+        } else if (field instanceof JBBPFieldBit bit) {
+            return bit.getAsInt();
+        } else if (field instanceof JBBPFieldBoolean boolean1) {
+            return boolean1.getAsBool();
+        } else if (field instanceof JBBPFieldByte byte1) {
+            return byte1.getAsInt();
+        } else if (field instanceof JBBPFieldInt int1) {
+            return int1.getAsInt();
+        } else if (field instanceof JBBPFieldLong long1) {
+            return long1.getAsLong();
+        } else if (field instanceof JBBPFieldShort short1) {
+            return short1.getAsInt();
+        } else if (field instanceof JBBPFieldStruct struct) {
+            return decode(struct);
+        } else if (field instanceof JBBPFieldUByte byte1) {
+            return byte1.getAsInt();
+        } else if (field instanceof JBBPFieldUShort short1) {
+            return short1.getAsInt();
+        }
+        throw new ConversionException(String.format("Unexpected field '%s'", field));
+    }
+
     private JsonObject convert(JBBPFieldStruct data) throws ConversionException {
         try {
             LocalDateTime start = LocalDateTime.now();
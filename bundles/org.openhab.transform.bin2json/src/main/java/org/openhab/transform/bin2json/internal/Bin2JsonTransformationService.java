@@ -12,10 +12,15 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.openhab.transform.bin2json.Bin2JsonDecoder;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,11 +32,23 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
-@Component(property = { "openhab.transform=BIN2JSON" })
-public class Bin2JsonTransformationService implements TransformationService {
+@Component(service = { TransformationService.class, Bin2JsonDecoder.class }, property = {
+        "openhab.transform=BIN2JSON" })
+public class Bin2JsonTransformationService implements TransformationService, Bin2JsonDecoder {
+
+    private static final int MAX_CACHED_PARSERS = 100;
 
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    private final Map<String, Bin2Json> parserCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bin2Json> eldest) {
+            return size() > MAX_CACHED_PARSERS;
+        }
+    };
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
@@ -46,7 +63,7 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            result = String.valueOf(getParser(syntax).convert(source));
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +73,30 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    @Override
+    public Map<String, Object> decode(String syntax, ByteBuffer data) throws TransformationException {
+        try {
+            return getParser(syntax).decode(data);
+        } catch (ConversionException e) {
+            throw new TransformationException("An error occurred while executing the converter. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the compiled parser for the given syntax, compiling it only on first use.
+     */
+    Bin2Json getParser(String syntax) throws ConversionException {
+        synchronized (parserCache) {
+            Bin2Json parser = parserCache.get(syntax);
+            if (parser != null) {
+                return parser;
+            }
+        }
+        Bin2Json parser = new Bin2Json(syntax);
+        synchronized (parserCache) {
+            parserCache.put(syntax, parser);
+        }
+        return parser;
+    }
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Bin2Json}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTest {
+
+    @Test
+    public void testConvertHexString() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("byte a; byte b; ubyte c;");
+
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", bin2json.convert("03FAFF").toString());
+    }
+
+    @Test
+    public void testIllegalParserRule() {
+        assertThrows(ConversionException.class, () -> new Bin2Json("unknown a;"));
+    }
+
+    @Test
+    public void testDecodeScalars() throws ConversionException {
+        Map<String, Object> values = new Bin2Json("byte a; ubyte b; short c; ushort d; int e; long f; bool g;")
+                .decode(new byte[] { -6, -1, -1, -2, -1, -2, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 2, 1 });
+
+        assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), List.copyOf(values.keySet()));
+        assertEquals(-6, values.get("a"));
+        assertEquals(255, values.get("b"));
+        assertEquals(-2, values.get("c"));
+        assertEquals(65534, values.get("d"));
+        assertEquals(256, values.get("e"));
+        assertEquals(2L, values.get("f"));
+        assertEquals(true, values.get("g"));
+    }
+
+    @Test
+    public void testDecodeArrays() throws ConversionException {
+        Map<String, Object> values = new Bin2Json("byte[2] a; ubyte[2] b; ushort[1] c;")
+                .decode(new byte[] { 1, -1, 2, -2, -1, -1 });
+
+        assertArrayEquals(new byte[] { 1, -1 }, (byte[]) values.get("a"));
+        assertArrayEquals(new int[] { 2, 254 }, (int[]) values.get("b"));
+        assertArrayEquals(new int[] { 65535 }, (int[]) values.get("c"));
+    }
+
+    @Test
+    public void testDecodeStructures() throws ConversionException {
+        Map<String, Object> values = new Bin2Json("byte n; s { byte x; } items[2] { ubyte v; }")
+                .decode(new byte[] { 1, 2, 3, -4 });
+
+        assertEquals(1, values.get("n"));
+        assertEquals(Map.of("x", 2), values.get("s"));
+        assertEquals(List.of(Map.of("v", 3), Map.of("v", 252)), values.get("items"));
+    }
+
+    @Test
+    public void testDecodeUnnamedField() throws ConversionException {
+        assertEquals(Map.of("nonamed", 7), new Bin2Json("byte;").decode(new byte[] { 7 }));
+    }
+
+    @Test
+    public void testDecodeHeapBufferUsesRemainingBytes() throws ConversionException {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 9, 9, 1, 2, 9 }, 1, 3).slice();
+        buffer.position(1);
+
+        assertEquals(Map.of("a", 1, "b", 2), new Bin2Json("byte a; byte b;").decode(buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void testDecodeDirectBuffer() throws ConversionException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(3).put(new byte[] { 9, 1, 2 });
+        buffer.position(1);
+
+        assertEquals(Map.of("a", 1, "b", 2), new Bin2Json("byte a; byte b;").decode(buffer));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void testConvertByteBuffer() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("byte a; byte b; ubyte c;");
+
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}",
+                bin2json.convert(ByteBuffer.wrap(new byte[] { 3, -6, -1 })).toString());
+    }
+
+    @Test
+    public void testDecodeTooShortData() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("int a;");
+
+        assertThrows(ConversionException.class, () -> bin2json.decode(new byte[] { 1, 2 }));
+    }
+
+    @Test
+    public void testParserIsReused() throws ConversionException {
+        Bin2Json bin2json = new Bin2Json("byte a;");
+
+        assertEquals(Map.of("a", 1), bin2json.decode(new byte[] { 1 }));
+        assertEquals(Map.of("a", 2), bin2json.decode(new byte[] { 2 }));
+    }
+}
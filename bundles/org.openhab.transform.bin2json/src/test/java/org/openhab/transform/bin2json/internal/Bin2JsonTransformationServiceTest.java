@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * Tests for {@link Bin2JsonTransformationService}.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+
+    private @NonNullByDefault({}) Bin2JsonTransformationService service;
+
+    @BeforeEach
+    public void init() {
+        service = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", service.transform("byte a; byte b; ubyte c;", "03FAFF"));
+    }
+
+    @Test
+    public void testTransformIllegalSyntax() {
+        assertThrows(TransformationException.class, () -> service.transform("unknown a;", "03"));
+    }
+
+    @Test
+    public void testDecode() throws TransformationException {
+        Map<String, Object> values = service.decode("byte a; ubyte b;", ByteBuffer.wrap(new byte[] { 3, -1 }));
+
+        assertEquals(Map.of("a", 3, "b", 255), values);
+    }
+
+    @Test
+    public void testDecodeIllegalSyntax() {
+        assertThrows(TransformationException.class, () -> service.decode("unknown a;", ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void testParserIsCached() throws Exception {
+        Bin2Json parser = service.getParser("byte a;");
+
+        assertSame(parser, service.getParser("byte a;"));
+        assertNotSame(parser, service.getParser("byte b;"));
+    }
+
+    @Test
+    public void testTransformAndDecodeShareParser() throws Exception {
+        service.transform("byte a;", "01");
+        Bin2Json parser = service.getParser("byte a;");
+        service.decode("byte a;", ByteBuffer.wrap(new byte[] { 1 }));
+
+        assertSame(parser, service.getParser("byte a;"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedParserIsEvicted() throws Exception {
+        Bin2Json first = service.getParser("byte a0;");
+        Bin2Json second = service.getParser("byte a1;");
+        for (int i = 2; i < 100; i++) {
+            service.getParser("byte a" + i + ";");
+        }
+        // the first parser is used again, so the second one is the least recently used
+        assertSame(first, service.getParser("byte a0;"));
+
+        service.getParser("byte a100;");
+
+        assertSame(first, service.getParser("byte a0;"));
+        assertNotSame(second, service.getParser("byte a1;"));
+    }
+}
@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.exec.internal;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -21,6 +25,7 @@ import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,20 +40,35 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 @Component(property = { "openhab.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
+    private static final String PERSISTENT_PREFIX = "persistent:";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_WORKERS = 4;
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
     private final ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService;
+    private final Map<String, ExecWorkerPool> workerPools = new ConcurrentHashMap<>();
+    private final Runnable whitelistChangeListener = this::closeRemovedWorkerPools;
 
     @Activate
     public ExecTransformationService(
             @Reference ExecTransformationWhitelistWatchService execTransformationWhitelistWatchService) {
         this.execTransformationWhitelistWatchService = execTransformationWhitelistWatchService;
+        execTransformationWhitelistWatchService.addChangeListener(whitelistChangeListener);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        execTransformationWhitelistWatchService.removeChangeListener(whitelistChangeListener);
+        workerPools.values().forEach(ExecWorkerPool::close);
+        workerPools.clear();
     }
 
     /**
      * Transforms the input <code>source</code> by the command line.
      *
      * @param commandLine the command to execute. Command line should contain %s string, which will be replaced by the
-     *            input data.
+     *            input data. If it starts with <code>persistent:</code>, the command is started once and the input is
+     *            passed as a line on its standard input instead.
      * @param source the input to transform
      */
     @Override
@@ -65,11 +85,44 @@ public class ExecTransformationService implements TransformationService {
 
         long startTime = System.currentTimeMillis();
 
-        String formattedCommandLine = String.format(commandLine, source);
-        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(5),
-                formattedCommandLine.split(" "));
+        @Nullable
+        String result;
+        if (commandLine.startsWith(PERSISTENT_PREFIX)) {
+            result = transformPersistent(commandLine, source);
+        } else {
+            String formattedCommandLine = String.format(commandLine, source);
+            result = ExecUtil.executeCommandLineAndWaitResponse(TIMEOUT, formattedCommandLine.split(" "));
+        }
         logger.trace("command line execution elapsed {} ms", System.currentTimeMillis() - startTime);
 
         return result;
     }
+
+    private @Nullable String transformPersistent(String commandLine, String source) {
+        ExecWorkerPool workerPool = workerPools.computeIfAbsent(commandLine, c -> new ExecWorkerPool(
+                c.substring(PERSISTENT_PREFIX.length()).strip().split(" "), MAX_WORKERS, TIMEOUT));
+        try {
+            return workerPool.execute(source);
+        } catch (IOException | TimeoutException e) {
+            logger.warn("Failed to transform '{}' by the persistent command '{}': {}", source, commandLine,
+                    e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Stops the workers of commands that have been removed from the whitelist, called when the whitelist changed.
+     */
+    private void closeRemovedWorkerPools() {
+        workerPools.entrySet().removeIf(entry -> {
+            if (execTransformationWhitelistWatchService.isWhitelisted(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().close();
+            return true;
+        });
+    }
 }
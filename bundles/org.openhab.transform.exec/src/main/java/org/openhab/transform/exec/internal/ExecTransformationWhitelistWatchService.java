@@ -16,7 +16,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -40,6 +42,7 @@ public class ExecTransformationWhitelistWatchService implements WatchService.Wat
 
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationWhitelistWatchService.class);
     private final Set<String> commandWhitelist = new HashSet<>();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
     private final WatchService watchService;
     private final Path watchFile;
 
@@ -70,6 +73,25 @@ public class ExecTransformationWhitelistWatchService implements WatchService.Wat
                 logger.warn("Cannot read whitelist file, exec transformations won't be processed: {}", e.getMessage());
             }
         }
+        changeListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Add a listener that is called after the whitelist has been reloaded
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Remove a listener that was added with {@link #addChangeListener(Runnable)}
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
     }
 
     /**
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of long-running worker processes for one command line.
+ *
+ * Each request is written as a single line to the standard input of an idle worker, which has to answer with a
+ * single line on its standard output. Workers are started on demand up to the maximum pool size. A worker that does
+ * not answer in time is killed, and one that has exited is replaced by a new one on the next request.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ExecWorkerPool {
+
+    private static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory("exec-transformation-worker", true);
+
+    private final Logger logger = LoggerFactory.getLogger(ExecWorkerPool.class);
+
+    private final String[] command;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * @param command the command line of the worker process
+     * @param maxWorkers the maximum number of concurrently running workers
+     * @param timeout the maximum time to wait for a worker and for its response
+     */
+    ExecWorkerPool(String[] command, int maxWorkers, Duration timeout) {
+        this.command = command;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxWorkers);
+    }
+
+    /**
+     * Sends the input to a worker and returns its response.
+     *
+     * @param input the input, line breaks are replaced by spaces
+     * @return the response line
+     * @throws IOException if no worker could be started or it failed to process the request
+     * @throws TimeoutException if no worker became available or answered in time
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    String execute(String input) throws IOException, TimeoutException, InterruptedException {
+        String request = input.replace('\r', ' ').replace('\n', ' ');
+        if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("No worker became available within " + timeout.toMillis() + " ms");
+        }
+        try {
+            // a worker that exited since its last request is replaced once, other failures are reported
+            for (int attempt = 0;; attempt++) {
+                Worker worker = idleWorkers.poll();
+                if (worker == null) {
+                    worker = new Worker();
+                }
+                try {
+                    String response = worker.request(request, timeout);
+                    release(worker);
+                    return response;
+                } catch (EOFException e) {
+                    worker.destroy();
+                    if (attempt > 0) {
+                        throw e;
+                    }
+                    logger.debug("Worker '{}' has exited, starting a new one", command[0]);
+                } catch (IOException | TimeoutException | InterruptedException e) {
+                    worker.destroy();
+                    throw e;
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void release(Worker worker) {
+        idleWorkers.offer(worker);
+        if (closed && idleWorkers.remove(worker)) {
+            worker.destroy();
+        }
+    }
+
+    /**
+     * Stops all idle workers, workers that are busy are stopped when they finish their request.
+     */
+    void close() {
+        closed = true;
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+    /**
+     * A response line, the line is <code>null</code> when the worker closed its output.
+     */
+    private record Response(@Nullable String line) {
+    }
+
+    private class Worker {
+        private final Process process;
+        private final BufferedWriter input;
+        private final BlockingQueue<Response> responses = new LinkedBlockingQueue<>();
+
+        Worker() throws IOException {
+            process = new ProcessBuilder(command).start();
+            input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            startReader(process.getInputStream(), line -> responses.add(new Response(line)));
+            startReader(process.getErrorStream(), line -> {
+                if (line != null) {
+                    logger.debug("Worker '{}' reported: {}", command[0], line);
+                }
+            });
+            logger.debug("Started worker '{}' with pid {}", command[0], process.pid());
+        }
+
+        private void startReader(InputStream stream, Consumer<@Nullable String> consumer) {
+            THREAD_FACTORY.newThread(() -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        consumer.accept(line);
+                    }
+                } catch (IOException e) {
+                    // the process was destroyed
+                }
+                consumer.accept(null);
+            }).start();
+        }
+
+        String request(String request, Duration timeout)
+                throws IOException, TimeoutException, InterruptedException {
+            // drop output that was not requested, so it cannot be taken as the response to this request
+            responses.clear();
+            if (!process.isAlive()) {
+                throw new EOFException("Worker '" + command[0] + "' has exited");
+            }
+            try {
+                input.write(request);
+                input.newLine();
+                input.flush();
+            } catch (IOException e) {
+                // the worker exited after the check above
+                throw new EOFException(e.getMessage());
+            }
+
+            Response response = responses.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (response == null) {
+                throw new TimeoutException(
+                        "Worker '" + command[0] + "' did not answer within " + timeout.toMillis() + " ms");
+            }
+            String line = response.line();
+            if (line == null) {
+                throw new EOFException("Worker '" + command[0] + "' exited without answering");
+            }
+            return line;
+        }
+
+        void destroy() {
+            process.destroyForcibly();
+            logger.debug("Stopped worker '{}' with pid {}", command[0], process.pid());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.exec.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.EOFException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+/**
+ * Tests for {@link ExecWorkerPool} using shell scripts as workers.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+@DisabledOnOs(OS.WINDOWS)
+public class ExecWorkerPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(500);
+
+    // answers each line with the process id of the shell, but does not answer "slow" in time
+    private static final String PID_WORKER = "while read line; do [ \"$line\" = slow ] && sleep 10; echo $$; done";
+
+    private @NonNullByDefault({}) ExecWorkerPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private static ExecWorkerPool shellPool(String script, int maxWorkers) {
+        return new ExecWorkerPool(new String[] { "sh", "-c", script }, maxWorkers, TIMEOUT);
+    }
+
+    private static void assertExited(long pid) throws Exception {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        if (process.isPresent()) {
+            process.get().onExit().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testEchoRoundTrip() throws Exception {
+        pool = new ExecWorkerPool(new String[] { "cat" }, 1, TIMEOUT);
+
+        assertEquals("first", pool.execute("first"));
+        assertEquals("second line", pool.execute("second\nline"));
+    }
+
+    @Test
+    public void testWorkerIsReused() throws Exception {
+        pool = shellPool(PID_WORKER, 1);
+
+        String pid = pool.execute("a");
+
+        assertEquals(pid, pool.execute("b"));
+    }
+
+    @Test
+    public void testTimeoutKillsWorker() throws Exception {
+        pool = shellPool(PID_WORKER, 1);
+        long pid = Long.parseLong(pool.execute("a"));
+
+        assertThrows(TimeoutException.class, () -> pool.execute("slow"));
+        assertExited(pid);
+
+        // the next request is answered in time by a new worker
+        assertNotEquals(pid, Long.parseLong(pool.execute("a")));
+    }
+
+    @Test
+    public void testExitedWorkerIsRestarted() throws Exception {
+        // answers one line and exits
+        pool = shellPool("read line; echo $$", 1);
+        long pid = Long.parseLong(pool.execute("a"));
+        assertExited(pid);
+
+        assertNotEquals(pid, Long.parseLong(pool.execute("b")));
+    }
+
+    @Test
+    public void testExitedWorkerIsRestartedOnlyOnce() {
+        // exits without answering
+        pool = shellPool("exit 0", 1);
+
+        assertThrows(EOFException.class, () -> pool.execute("a"));
+    }
+
+    @Test
+    public void testCloseStopsIdleWorkers() throws Exception {
+        pool = shellPool(PID_WORKER, 2);
+        long pid = Long.parseLong(pool.execute("a"));
+
+        pool.close();
+
+        assertExited(pid);
+    }
+}
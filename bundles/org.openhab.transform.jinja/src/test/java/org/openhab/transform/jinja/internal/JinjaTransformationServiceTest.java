@@ -115,4 +115,19 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testCachedTemplateWithChangingValues() throws TransformationException {
+        String template = "{{ value_json.temperature }}";
+
+        assertEquals("21.5", processor.transform(template, "{\"temperature\":21.5,\"linkquality\":87}"));
+        assertEquals("22", processor.transform(template, "{\"temperature\":22,\"linkquality\":90}"));
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+    }
+
+    @Test
+    public void testTemplateErrorIsReportedOnEveryUse() {
+        assertThrows(TransformationException.class, () -> processor.transform("{{ value_json.missing }}", "{}"));
+        assertThrows(TransformationException.class, () -> processor.transform("{{ value_json.missing }}", "{}"));
+    }
 }
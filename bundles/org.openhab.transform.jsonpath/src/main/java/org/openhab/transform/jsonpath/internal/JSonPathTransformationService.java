@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +43,27 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * maximum number of compiled paths that are kept, each channel with a JSONPATH transformation uses one
+     */
+    private static final int PATH_CACHE_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Map<String, JsonPath> pathCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > PATH_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * a payload is usually transformed for several channels right after each other, so it is parsed only once
+     */
+    private final JsonDocumentCache documentCache = new JsonDocumentCache(8, 1000);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -64,7 +85,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath path = compile(jsonPathExpression);
+            Object transformationResult = documentCache.parse(source).read(path);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -80,6 +102,20 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        JsonPath path;
+        synchronized (pathCache) {
+            path = pathCache.get(jsonPathExpression);
+        }
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            synchronized (pathCache) {
+                pathCache.put(jsonPathExpression, path);
+            }
+        }
+        return path;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
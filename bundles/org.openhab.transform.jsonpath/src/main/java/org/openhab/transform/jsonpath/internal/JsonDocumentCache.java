@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Keeps the most recently parsed JSON documents for a short time.
+ *
+ * A payload received by a binding is usually transformed by several channels with different paths right after each
+ * other. With this cache the payload is parsed once and all paths are evaluated on the same document. Documents are
+ * only read, never modified, so they can be shared between threads.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class JsonDocumentCache {
+
+    private record Entry(String source, DocumentContext document, long expiresAt) {
+    }
+
+    private final @Nullable Entry[] entries;
+    private final long ttlNanos;
+    private int next;
+
+    /**
+     * @param size the maximum number of documents kept
+     * @param ttlMillis the time in milliseconds a document is kept after it was parsed
+     */
+    JsonDocumentCache(int size, long ttlMillis) {
+        this.entries = new @Nullable Entry[size];
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns the parsed document for the given source, parsing it only if it is not cached.
+     *
+     * @param source the JSON document
+     * @return the parsed document
+     * @throws com.jayway.jsonpath.InvalidJsonException if the source is not valid JSON
+     */
+    DocumentContext parse(String source) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            for (Entry entry : entries) {
+                // comparing the text is much cheaper than parsing it again
+                if (entry != null && entry.expiresAt - now > 0 && (entry.source == source
+                        || (entry.source.length() == source.length() && entry.source.equals(source)))) {
+                    return entry.document;
+                }
+            }
+        }
+
+        DocumentContext document = JsonPath.parse(source);
+        synchronized (this) {
+            entries[next] = new Entry(source, document, now + ttlNanos);
+            next = (next + 1) % entries.length;
+        }
+        return document;
+    }
+}
@@ -57,6 +57,17 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testSeveralPathsOnChangingPayloads() throws TransformationException {
+        String first = "{\"temperature\":21.5,\"humidity\":40,\"battery\":97}";
+        String second = "{\"temperature\":22.0,\"humidity\":41,\"battery\":97}";
+
+        assertEquals("21.5", processor.transform("$.temperature", first));
+        assertEquals("40", processor.transform("$.humidity", new String(first)));
+        assertEquals("22.0", processor.transform("$.temperature", second));
+        assertEquals("41", processor.transform("$.humidity", second));
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", jsonArray));
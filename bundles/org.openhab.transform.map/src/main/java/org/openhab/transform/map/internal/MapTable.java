@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable string to string table of a map transformation, using open addressing with linear probing.
+ *
+ * Lookups don't take any lock, unlike {@link java.util.Properties} which synchronizes every access. The reverse
+ * table for mapping values back to keys is only created when it is used for the first time.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class MapTable {
+
+    private final @Nullable String[] keys;
+    private final @Nullable String[] values;
+    private final int mask;
+
+    private volatile @Nullable MapTable inverse;
+
+    /**
+     * Creates the table.
+     *
+     * @param entries the mappings
+     */
+    MapTable(Map<String, String> entries) {
+        // keep the load factor at or below 0.5, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) << 1;
+        keys = new @Nullable String[capacity];
+        values = new @Nullable String[capacity];
+        mask = capacity - 1;
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            int slot = slot(entry.getKey());
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+    }
+
+    private int slot(String key) {
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (true) {
+            String candidate = keys[slot];
+            if (candidate == null || candidate.equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key
+     * @return the value or <code>null</code> if the key is not mapped
+     */
+    @Nullable
+    String get(String key) {
+        return values[slot(key)];
+    }
+
+    /**
+     * Returns the reverse table that maps each value back to its key. The default entry with the empty key and
+     * values that are mapped from more than one key are left out, as they cannot be reversed.
+     *
+     * @return the reverse table
+     */
+    MapTable inverse() {
+        MapTable inverse = this.inverse;
+        if (inverse == null) {
+            Map<String, String> reversed = new HashMap<>();
+            Set<String> ambiguous = new HashSet<>();
+            for (int i = 0; i < keys.length; i++) {
+                String key = keys[i];
+                String value = values[i];
+                if (key != null && value != null && !key.isEmpty() && reversed.put(value, key) != null) {
+                    ambiguous.add(value);
+                }
+            }
+            ambiguous.forEach(reversed::remove);
+            // creating it twice concurrently is harmless, both results are equal
+            inverse = new MapTable(reversed);
+            this.inverse = inverse;
+        }
+        return inverse;
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
@@ -59,7 +60,7 @@ public class MapTransformationService
 
     private final Logger logger = LoggerFactory.getLogger(MapTransformationService.class);
     private final TransformationRegistry transformationRegistry;
-    private final Map<String, Properties> cachedTransformations = new ConcurrentHashMap<>();
+    private final Map<String, MapTable> cachedTransformations = new ConcurrentHashMap<>();
 
     @Activate
     public MapTransformationService(@Reference TransformationRegistry transformationRegistry) {
@@ -77,30 +78,60 @@ public class MapTransformationService
         // always get a configuration from the registry to account for changed system locale
         Transformation transformation = transformationRegistry.get(function, null);
 
-        if (transformation != null) {
-            if (!cachedTransformations.containsKey(transformation.getUID())) {
-                importConfiguration(transformation);
-            }
-            Properties properties = cachedTransformations.get(transformation.getUID());
-            if (properties != null) {
-                String target = properties.getProperty(source);
+        MapTable table = getTable(transformation);
+        if (table != null) {
+            String target = table.get(source);
 
+            if (target == null) {
+                target = table.get("");
                 if (target == null) {
-                    target = properties.getProperty("");
-                    if (target == null) {
-                        throw new TransformationException("Target value not found in map for '" + source + "'");
-                    } else if (SOURCE_VALUE.equals(target)) {
-                        target = source;
-                    }
+                    throw new TransformationException("Target value not found in map for '" + source + "'");
+                } else if (SOURCE_VALUE.equals(target)) {
+                    target = source;
                 }
-
-                logger.debug("Transformation resulted in '{}'", target);
-                return target;
             }
+
+            logger.debug("Transformation resulted in '{}'", target);
+            return target;
         }
         throw new TransformationException("Could not find configuration '" + function + "' or failed to parse it.");
     }
 
+    /**
+     * Transforms the input <code>source</code> by the reverse mapping, i.e. returns the key that is mapped to the
+     * given value. The default entry is not used in this direction.
+     *
+     * @param function the name of the map transformation
+     * @param source the value to map back
+     * @return the key that is mapped to the value
+     * @throws TransformationException if the value is not mapped from exactly one key
+     */
+    public String transformInverse(String function, String source) throws TransformationException {
+        Transformation transformation = transformationRegistry.get(function, null);
+        MapTable table = getTable(transformation);
+        if (table == null) {
+            throw new TransformationException("Could not find configuration '" + function + "' or failed to parse it.");
+        }
+        String target = table.inverse().get(source);
+        if (target == null) {
+            throw new TransformationException("Key not found in map for value '" + source + "'");
+        }
+        logger.debug("Inverse transformation resulted in '{}'", target);
+        return target;
+    }
+
+    private @Nullable MapTable getTable(@Nullable Transformation transformation) {
+        if (transformation == null) {
+            return null;
+        }
+        MapTable table = cachedTransformations.get(transformation.getUID());
+        if (table == null) {
+            importConfiguration(transformation);
+            table = cachedTransformations.get(transformation.getUID());
+        }
+        return table;
+    }
+
     @Override
     public @Nullable Collection<ParameterOption> getParameterOptions(URI uri, String param, @Nullable String context,
             @Nullable Locale locale) {
@@ -125,25 +156,36 @@ public class MapTransformationService
 
     @Override
     public void updated(Transformation oldElement, Transformation element) {
-        if (cachedTransformations.remove(oldElement.getUID()) != null) {
-            // import only if it was present before
-            importConfiguration(element);
+        if (cachedTransformations.containsKey(oldElement.getUID())) {
+            // import only if it was present before, the new table replaces the old one in a single step
+            if (!oldElement.getUID().equals(element.getUID())) {
+                cachedTransformations.remove(oldElement.getUID());
+            }
+            if (!importConfiguration(element)) {
+                cachedTransformations.remove(element.getUID());
+            }
         }
     }
 
-    private void importConfiguration(@Nullable Transformation transformation) {
+    private boolean importConfiguration(@Nullable Transformation transformation) {
         if (transformation != null) {
             try {
                 Properties properties = new Properties();
                 String function = transformation.getConfiguration().get(Transformation.FUNCTION);
                 if (function == null || function.isBlank()) {
                     logger.warn("Function not defined for transformation '{}'", transformation.getUID());
-                    return;
+                    return false;
                 }
                 properties.load(new StringReader(function));
-                cachedTransformations.put(transformation.getUID(), properties);
+                Map<String, String> entries = new HashMap<>();
+                for (String key : properties.stringPropertyNames()) {
+                    entries.put(key, properties.getProperty(key));
+                }
+                cachedTransformations.put(transformation.getUID(), new MapTable(entries));
+                return true;
             } catch (IOException ignored) {
             }
         }
+        return false;
     }
 }
@@ -24,6 +24,7 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.Type;
+import org.openhab.transform.map.internal.MapTransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,11 +46,13 @@ public class MapTransformationProfile implements StateProfile {
 
     private static final String FUNCTION_PARAM = "function";
     private static final String SOURCE_FORMAT_PARAM = "sourceFormat";
+    private static final String INVERSE_PARAM = "inverse";
 
     @NonNullByDefault({})
     private final String function;
     @NonNullByDefault({})
     private final String sourceFormat;
+    private final boolean inverse;
 
     public MapTransformationProfile(ProfileCallback callback, ProfileContext context, TransformationService service) {
         this.service = service;
@@ -73,6 +76,7 @@ public class MapTransformationProfile implements StateProfile {
             function = null;
             sourceFormat = null;
         }
+        inverse = Boolean.parseBoolean(String.valueOf(context.getConfiguration().get(INVERSE_PARAM)));
     }
 
     @Override
@@ -86,6 +90,17 @@ public class MapTransformationProfile implements StateProfile {
 
     @Override
     public void onCommandFromItem(Command command) {
+        if (inverse && function != null && service instanceof MapTransformationService mapService) {
+            try {
+                StringType result = new StringType(mapService.transformInverse(function, command.toFullString()));
+                logger.debug("Transformed command '{}' back into '{}'", command, result);
+                callback.handleCommand(result);
+                return;
+            } catch (TransformationException e) {
+                logger.debug("Could not transform command '{}' back with function '{}': {}", command, function,
+                        e.getMessage());
+            }
+        }
         callback.handleCommand(command);
     }
 
@@ -114,6 +114,14 @@ public class MapTransformationServiceTest extends JavaTest {
         assertThrows(TransformationException.class, () -> processor.transform(UNKNOWN_TRANSFORMATION, SOURCE_CLOSED));
     }
 
+    @Test
+    public void testTransformInverse() throws TransformationException {
+        assertEquals(SOURCE_CLOSED, processor.transformInverse(NON_DEFAULTED_TRANSFORMATION_DE, "zu"));
+        assertThrows(TransformationException.class,
+                () -> processor.transformInverse(NON_DEFAULTED_TRANSFORMATION_DE, SOURCE_UNKNOWN));
+        assertThrows(TransformationException.class, () -> processor.transformInverse(UNKNOWN_TRANSFORMATION, "zu"));
+    }
+
     @Test
     public void setTransformationIsRemoved() throws TransformationException {
         assertEquals("zu", processor.transform(NON_DEFAULTED_TRANSFORMATION_DE, SOURCE_CLOSED));
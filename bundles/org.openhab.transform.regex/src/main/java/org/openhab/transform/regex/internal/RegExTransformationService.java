@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +43,32 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /**
+     * maximum number of compiled expressions that are kept, the cache is cleared when it is exceeded
+     */
+    private static final int CACHE_SIZE = 500;
+
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String ANY_GROUP = "(.*)";
+
+    private final Map<CacheKey, CompiledRegex> cache = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private record CacheKey(String regex, int flags) {
+    }
+
+    /**
+     * A compiled expression. Expressions that are a plain literal, optionally followed by <code>(.*)</code>, are
+     * evaluated by string comparison instead of the pattern.
+     *
+     * @param pattern the compiled pattern
+     * @param literal the literal part of the expression, or <code>null</code> if the pattern has to be used
+     * @param prefix <code>true</code> if the literal is followed by <code>(.*)</code>
+     */
+    private record CompiledRegex(Pattern pattern, @Nullable String literal, boolean prefix) {
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -50,23 +79,46 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
-            logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
+        if (regExpression.startsWith("s/")) {
+            Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+            if (substMatcher.matches()) {
+                logger.debug("Using substitution form of regex transformation");
+                String regex = substMatcher.group(1);
+                String substitution = substMatcher.group(2);
+                String options = substMatcher.group(3);
+                Matcher matcher = compile(regex, 0).pattern().matcher(source.trim());
+                if ("g".equals(options)) {
+                    result = matcher.replaceAll(substitution);
+                } else {
+                    result = matcher.replaceFirst(substitution);
+                }
+                if (result != null) {
+                    return result;
+                }
             }
-            if (result != null) {
+        }
+
+        String input = source.trim();
+        CompiledRegex compiled = compile(regExpression, Pattern.DOTALL);
+        String literal = compiled.literal();
+        if (literal != null) {
+            if (!input.startsWith(literal)) {
+                logger.debug(
+                        "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
+                        regExpression, source);
+                return null;
+            } else if (compiled.prefix()) {
+                return input.substring(literal.length());
+            } else if (input.equals(literal)) {
+                logger.info(
+                        "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
+                        regExpression);
                 return result;
             }
+            // '$' also matches before a trailing line terminator, leave that to the pattern
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiled.pattern().matcher(input);
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +146,47 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    private CompiledRegex compile(String regex, int flags) {
+        CacheKey key = new CacheKey(regex, flags);
+        CompiledRegex compiled = cache.get(key);
+        if (compiled != null) {
+            cacheHits.increment();
+            return compiled;
+        }
+        cacheMisses.increment();
+
+        if ((flags & Pattern.DOTALL) != 0) {
+            // the matching form is anchored at both ends
+            compiled = new CompiledRegex(Pattern.compile("^" + regex + "$", flags), literalPart(regex),
+                    regex.endsWith(ANY_GROUP));
+        } else {
+            compiled = new CompiledRegex(Pattern.compile(regex, flags), null, false);
+        }
+        if (cache.size() >= CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, compiled);
+        logger.debug("Compiled regular expression '{}' ({} cache hits, {} cache misses)", regex, cacheHits.sum(),
+                cacheMisses.sum());
+        return compiled;
+    }
+
+    private static @Nullable String literalPart(String regex) {
+        String literal = regex.endsWith(ANY_GROUP) ? regex.substring(0, regex.length() - ANY_GROUP.length()) : regex;
+        for (int i = 0; i < literal.length(); i++) {
+            if (METACHARACTERS.indexOf(literal.charAt(i)) >= 0) {
+                return null;
+            }
+        }
+        return literal;
+    }
+
+    long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    long getCacheMisses() {
+        return cacheMisses.sum();
+    }
 }
@@ -75,4 +75,28 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_literalPrefix() throws TransformationException {
+        assertEquals("21.5 C", processor.transform("Temperature: (.*)", " Temperature: 21.5 C\n"));
+        assertNull(processor.transform("Temperature: (.*)", "Humidity: 40 %"));
+    }
+
+    @Test
+    public void testTransformByRegex_literal() throws TransformationException {
+        assertEquals("", processor.transform("READY", "READY"));
+        assertNull(processor.transform("READY", "READY."));
+        assertNull(processor.transform("READY", "BUSY"));
+    }
+
+    @Test
+    public void testCompiledExpressionsAreReused() throws TransformationException {
+        processor.transform(".*?<temp_c data=\"(.*?)\".*", source);
+        processor.transform(".*?<temp_c data=\"(.*?)\".*", source);
+        processor.transform("s/([0-9]+)/#$1/g", "a1b2");
+        processor.transform("s/([0-9]+)/#$1/g", "a3b4");
+
+        assertEquals(2L, processor.getCacheMisses());
+        assertEquals(2L, processor.getCacheHits());
+    }
 }
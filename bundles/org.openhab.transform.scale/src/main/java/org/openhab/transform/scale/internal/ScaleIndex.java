@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable lookup structure for the ranges of a scale.
+ *
+ * All range limits are sorted into a list of bounds, which splits the number line into the bounds themselves and the
+ * open gaps between them. Each of these segments is either fully contained in a range or not at all, so the first
+ * matching range in file order can be resolved for every segment when the scale is imported. A lookup then only
+ * needs a binary search for the segment of the value.
+ *
+ * The search uses the bounds as <code>double</code>s first. If the value is strictly between two of them, this is
+ * exact as rounding to <code>double</code> preserves the order. Only values that are equal to a bound as a
+ * <code>double</code> are compared as {@link BigDecimal}s.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class ScaleIndex {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    private final BigDecimal[] bounds;
+    private final double[] doubleBounds;
+
+    /** index of the first matching range for each bound, -1 if none matches */
+    private final int[] boundRanges;
+
+    /** index of the first matching range for each gap, gap i is the one below bound i */
+    private final int[] gapRanges;
+
+    /** the format of each range split at %value%, with the label already filled in */
+    private final String[][] targets;
+
+    private final @Nullable String nonNumeric;
+
+    /**
+     * Creates the index.
+     *
+     * @param ranges the ranges in file order
+     * @param labels the label of each range
+     * @param format the format of the results
+     * @param nonNumeric the result for non numeric inputs or <code>null</code> if there is none
+     */
+    ScaleIndex(List<Range> ranges, List<String> labels, String format, @Nullable String nonNumeric) {
+        this.nonNumeric = nonNumeric;
+
+        TreeSet<BigDecimal> sortedBounds = new TreeSet<>();
+        for (Range range : ranges) {
+            if (range.min != null) {
+                sortedBounds.add(range.min);
+            }
+            if (range.max != null) {
+                sortedBounds.add(range.max);
+            }
+        }
+        bounds = sortedBounds.toArray(BigDecimal[]::new);
+        doubleBounds = new double[bounds.length];
+        boundRanges = new int[bounds.length];
+        gapRanges = new int[bounds.length + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            doubleBounds[i] = bounds[i].doubleValue();
+            boundRanges[i] = firstMatch(ranges, bounds[i]);
+        }
+        for (int i = 0; i <= bounds.length; i++) {
+            gapRanges[i] = firstMatch(ranges, gapValue(i));
+        }
+
+        targets = new String[labels.size()][];
+        for (int i = 0; i < labels.size(); i++) {
+            String[] parts = format.split(FORMAT_VALUE, -1);
+            for (int j = 0; j < parts.length; j++) {
+                parts[j] = parts[j].replace(FORMAT_LABEL, labels.get(i));
+            }
+            targets[i] = parts;
+        }
+    }
+
+    private static int firstMatch(List<Range> ranges, BigDecimal value) {
+        for (int i = 0; i < ranges.size(); i++) {
+            if (ranges.get(i).contains(value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a value inside the given gap.
+     */
+    private BigDecimal gapValue(int gap) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (gap == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        } else if (gap == bounds.length) {
+            return bounds[gap - 1].add(BigDecimal.ONE);
+        }
+        return bounds[gap - 1].add(bounds[gap]).divide(BigDecimal.valueOf(2));
+    }
+
+    /**
+     * @return the result for non numeric inputs or <code>null</code> if there is none
+     */
+    @Nullable
+    String getNonNumeric() {
+        return nonNumeric;
+    }
+
+    /**
+     * Finds the first range containing the given number.
+     *
+     * @param source the number as text
+     * @return the index of the range or -1 if no range contains the number
+     * @throws NumberFormatException if the source is not a number
+     */
+    int find(String source) {
+        if (isPlainNumber(source)) {
+            // adding 0.0 turns -0.0 into 0.0, which is what the bounds use
+            double value = Double.parseDouble(source) + 0.0;
+            int index = Arrays.binarySearch(doubleBounds, value);
+            if (index < 0 && !Double.isInfinite(value)) {
+                return gapRanges[-index - 1];
+            }
+        }
+        return find(new BigDecimal(source));
+    }
+
+    /**
+     * Finds the first range containing the given number.
+     *
+     * @param value the number
+     * @return the index of the range or -1 if no range contains the number
+     */
+    int find(BigDecimal value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return index < 0 ? gapRanges[-index - 1] : boundRanges[index];
+    }
+
+    /**
+     * Formats the result of a range.
+     *
+     * @param range the index of the range
+     * @param source the input value
+     * @return the formatted result
+     */
+    String format(int range, String source) {
+        String[] parts = targets[range];
+        return parts.length == 1 ? parts[0] : String.join(source, parts);
+    }
+
+    /**
+     * Checks that the text only contains characters {@link BigDecimal} accepts, as {@link Double#parseDouble} also
+     * accepts a few other notations.
+     */
+    private static boolean isPlainNumber(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -154,6 +154,18 @@ public class ScaleTransformServiceTest {
         assertEquals("first", transformedResponse);
     }
 
+    @Test
+    public void testEvaluationOrderAtBounds() throws TransformationException {
+        String evaluationOrder = "scale" + File.separator + "evaluationorder.scale";
+
+        assertEquals("first", processor.transform(evaluationOrder, "10"));
+        assertEquals("first", processor.transform(evaluationOrder, "14.999999999999999999"));
+        assertEquals("second", processor.transform(evaluationOrder, "15"));
+        assertEquals("second", processor.transform(evaluationOrder, "15.0E0"));
+        assertEquals("last", processor.transform(evaluationOrder, "17"));
+        assertEquals("first", processor.transform(evaluationOrder, "-1e400"));
+    }
+
     @Test
     public void testTransformQuantityType() throws TransformationException {
         QuantityType<Dimensionless> airQuality = new QuantityType<>("992 ppm");
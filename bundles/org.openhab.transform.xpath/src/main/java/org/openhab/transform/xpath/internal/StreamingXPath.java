@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2010-2023 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple location paths like <code>//current_conditions/temp_c/@data</code> or <code>/root/value</code> on
+ * a StAX stream, so the document does not need to be parsed into a DOM and parsing stops at the first match.
+ *
+ * Only absolute paths of plain element names without predicates, optionally ending with an attribute, are supported.
+ * Like the string value of an XPath node-set the result is the string value of the first matching node in document
+ * order, or an empty string if nothing matches.
+ *
+ * @author openHAB Contributors - Initial contribution
+ */
+@NonNullByDefault
+class StreamingXPath {
+
+    private static final String NAME = "[A-Za-z_][A-Za-z0-9_.\\-]*";
+    private static final Pattern SIMPLE_PATH = Pattern
+            .compile("(//?)(" + NAME + "(?:/" + NAME + ")*)(?:/@(" + NAME + "))?");
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final boolean anyDepth;
+    private final String[] steps;
+    private final @Nullable String attribute;
+
+    private StreamingXPath(boolean anyDepth, String[] steps, @Nullable String attribute) {
+        this.anyDepth = anyDepth;
+        this.steps = steps;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Creates a streaming evaluator for the given expression.
+     *
+     * @param expression the XPath expression
+     * @return the evaluator or <code>null</code> if the expression is not supported
+     */
+    static @Nullable StreamingXPath compile(String expression) {
+        Matcher matcher = SIMPLE_PATH.matcher(expression.strip());
+        if (!matcher.matches()) {
+            return null;
+        }
+        return new StreamingXPath("//".equals(matcher.group(1)), matcher.group(2).split("/"), matcher.group(3));
+    }
+
+    /**
+     * Evaluates the path on the given document.
+     *
+     * @param source the XML document
+     * @return the string value of the first match or <code>null</code> if the document declares a DTD and has to be
+     *         evaluated on a DOM instead
+     * @throws XMLStreamException if the document cannot be parsed up to the first match
+     */
+    @Nullable
+    String evaluate(String source) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(source));
+        try {
+            // local names of the open elements, null for elements in a namespace as they never match a plain name
+            List<@Nullable String> path = new ArrayList<>();
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.DTD:
+                        return null;
+                    case XMLStreamConstants.START_ELEMENT:
+                        String namespace = reader.getNamespaceURI();
+                        path.add(namespace == null || namespace.isEmpty() ? reader.getLocalName() : null);
+                        if (matches(path)) {
+                            String attribute = this.attribute;
+                            if (attribute == null) {
+                                return readText(reader);
+                            }
+                            String value = getAttribute(reader, attribute);
+                            if (value != null) {
+                                return value;
+                            }
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        path.remove(path.size() - 1);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return "";
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean matches(List<@Nullable String> path) {
+        int offset = path.size() - steps.length;
+        if (offset < 0 || (!anyDepth && offset != 0)) {
+            return false;
+        }
+        for (int i = 0; i < steps.length; i++) {
+            if (!steps[i].equals(path.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static @Nullable String getAttribute(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if ((namespace == null || namespace.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the string value of the current element, i.e. the text of all its descendants.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // documents with a DTD are left to the DOM path, so only the predefined entities can occur here
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+}
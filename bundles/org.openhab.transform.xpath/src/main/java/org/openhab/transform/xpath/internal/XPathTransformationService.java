@@ -12,13 +12,18 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
@@ -41,8 +47,18 @@ import org.xml.sax.InputSource;
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * maximum number of compiled expressions kept per thread
+     */
+    private static final int EXPRESSION_CACHE_SIZE = 100;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    /**
+     * XPath objects, compiled expressions and document builders are not thread-safe, so they are kept per thread
+     */
+    private final ThreadLocal<@Nullable Evaluator> evaluators = new ThreadLocal<>();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,9 +67,51 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
+            Evaluator evaluator = evaluators.get();
+            if (evaluator == null) {
+                evaluator = new Evaluator();
+                evaluators.set(evaluator);
+            }
+            CompiledExpression expression = evaluator.compile(xpathExpression);
+
+            String transformationResult = null;
+            StreamingXPath streamingExpression = expression.streamingExpression();
+            if (streamingExpression != null) {
+                transformationResult = streamingExpression.evaluate(source);
+            }
+            if (transformationResult == null) {
+                transformationResult = (String) expression.expression().evaluate(evaluator.parse(source),
+                        XPathConstants.STRING);
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
+
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    /**
+     * A compiled expression, with a streaming evaluator if the expression is simple enough.
+     */
+    private record CompiledExpression(XPathExpression expression, @Nullable StreamingXPath streamingExpression) {
+    }
+
+    private static class Evaluator {
+        private final DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, CompiledExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > EXPRESSION_CACHE_SIZE;
+            }
+        };
+
+        Evaluator() throws ParserConfigurationException {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,27 +121,27 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            builder = domFactory.newDocumentBuilder();
+        }
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+        CompiledExpression compile(String xpathExpression) throws XPathExpressionException {
+            CompiledExpression expression = expressions.get(xpathExpression);
+            if (expression == null) {
+                // compiling validates the expression, also when it is evaluated by streaming later on
+                expression = new CompiledExpression(xpath.compile(xpathExpression),
+                        StreamingXPath.compile(xpathExpression));
+                expressions.put(xpathExpression, expression);
+            }
+            return expression;
+        }
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        Document parse(String source) throws SAXException, IOException {
+            InputSource inputSource = new InputSource(new StringReader(source));
+            inputSource.setEncoding("UTF-8");
+            try {
+                return builder.parse(inputSource);
+            } finally {
+                builder.reset();
             }
         }
     }
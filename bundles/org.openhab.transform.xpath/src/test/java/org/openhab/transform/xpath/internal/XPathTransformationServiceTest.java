@@ -38,4 +38,27 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByStreamingXPath() throws TransformationException {
+        String xml = "<a><b/><b c=\"1\">x<d>y</d><![CDATA[&z]]></b></a>";
+
+        assertEquals("1", processor.transform("//b/@c", xml));
+        assertEquals("", processor.transform("/a/b", xml));
+        assertEquals("xy&z", processor.transform("//a/b[2]", xml));
+        assertEquals("", processor.transform("//missing", xml));
+    }
+
+    @Test
+    public void testTransformByXPathWithNamespaces() throws TransformationException {
+        String xml = "<r xmlns:n=\"urn:test\"><n:v>1</n:v><v>2</v></r>";
+
+        assertEquals("2", processor.transform("//v", xml));
+        assertEquals("2", processor.transform("count(/r/*)", xml));
+    }
+
+    @Test
+    public void testInvalidXPath() {
+        assertThrows(TransformationException.class, () -> processor.transform("//a[", "<a/>"));
+    }
 }
@@ -12,12 +12,15 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -25,9 +28,13 @@ import javax.xml.transform.stream.StreamSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,10 +46,46 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+public class XsltTransformationService implements TransformationService, WatchService.WatchEventListener {
+
+    private static final Path TRANSFORM_FOLDER = Path.of(TransformationService.TRANSFORM_FOLDER_NAME);
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final WatchService watchService;
+
+    /**
+     * holds the compiled stylesheets by their absolute file path, {@link Templates} are thread-safe
+     */
+    private final Map<Path, Templates> templatesCache = new ConcurrentHashMap<>();
+
+    /**
+     * counts the change events, so a stylesheet that changed while it was compiled is not kept in the cache
+     */
+    private final AtomicLong changeCount = new AtomicLong();
+
+    @Activate
+    public XsltTransformationService(
+            final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService) {
+        this.watchService = watchService;
+        watchService.registerListener(this, TRANSFORM_FOLDER, true);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        watchService.unregisterListener(this);
+        templatesCache.clear();
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        changeCount.incrementAndGet();
+        // the path may be relative to the watched folder, so drop every stylesheet it could refer to
+        if (templatesCache.keySet().removeIf(file -> file.endsWith(path))) {
+            logger.debug("Stylesheet '{}' changed, it will be compiled again on next use", path);
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,29 +103,18 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME, filename)
+                .toAbsolutePath().normalize();
+        Templates templates = getTemplates(path);
 
-        try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
-
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            // the input is read as a stream, the XSLT processor builds its own compact tree from it
+            templates.newTransformer().transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
@@ -92,4 +124,27 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private Templates getTemplates(Path path) throws TransformationException {
+        Templates templates = templatesCache.get(path);
+        if (templates != null) {
+            return templates;
+        }
+        long changeCountBefore = changeCount.get();
+        try {
+            // compiling is rare, so a new factory avoids sharing a factory that is not thread-safe
+            templates = TransformerFactory.newInstance().newTemplates(new StreamSource(path.toFile()));
+        } catch (TransformerConfigurationException e) {
+            String message = "compiling file '" + path + "' throws exception";
+
+            logger.error("{}", message, e);
+            throw new TransformationException(message, e);
+        }
+        templatesCache.put(path, templates);
+        if (changeCount.get() != changeCountBefore) {
+            // a change event may have missed this entry while compiling, the result is still used for this call
+            templatesCache.remove(path, templates);
+        }
+        return templates;
+    }
 }
@@ -13,9 +13,16 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -27,7 +34,7 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
 
     @BeforeEach
     public void init() {
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService(mock(WatchService.class));
     }
 
     @Test
@@ -38,4 +45,35 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformAfterStylesheetChange(@TempDir Path configFolder) throws Exception {
+        Path stylesheet = configFolder.resolve("transform").resolve("text.xsl");
+        Files.createDirectories(stylesheet.getParent());
+        String oldConfigFolder = System.getProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+        System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, configFolder.toString());
+        try {
+            Files.writeString(stylesheet, textStylesheet("first"));
+            assertEquals("first", processor.transform("text.xsl", source));
+
+            // the compiled stylesheet is cached until the file is reported as changed
+            Files.writeString(stylesheet, textStylesheet("second"));
+            assertEquals("first", processor.transform("text.xsl", source));
+
+            processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("text.xsl"));
+            assertEquals("second", processor.transform("text.xsl", source));
+        } finally {
+            if (oldConfigFolder == null) {
+                System.clearProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT);
+            } else {
+                System.setProperty(OpenHAB.CONFIG_DIR_PROG_ARGUMENT, oldConfigFolder);
+            }
+        }
+    }
+
+    private static String textStylesheet(String text) {
+        return "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+                + "<xsl:output method=\"text\"/><xsl:template match=\"/\">" + text + "</xsl:template>"
+                + "</xsl:stylesheet>";
+    }
 }